@@ -0,0 +1,69 @@
+#!/usr/bin/env bash
+# Measures startup time of the packaged app in each startup mode and prints a Markdown table.
+#
+# Usage: scripts/startup-report.sh [runs]
+# Needs the same environment as a normal start (MONGODB_URI, SUPABASE_JWT_SECRET, ...). See docs/startup.md.
+set -euo pipefail
+
+RUNS=${1:-5}
+WORK=target/startup-report
+PORT=${STARTUP_REPORT_PORT:-18080}
+AOT_OPTS="-Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup"
+
+# Builds the jar with the given Maven profiles, unpacks it into $WORK/<name> and records a CDS archive
+build() {
+    local name=$1 profiles=$2 opts=$3
+    ./mvnw -q -DskipTests ${profiles:+-P$profiles} clean package
+    rm -rf "$WORK/$name"
+    java -Djarmode=tools -jar target/internship-backend-*-SNAPSHOT.jar extract --destination "$WORK/$name"
+    # shellcheck disable=SC2086
+    java $opts -XX:ArchiveClassesAtExit="$WORK/$name/app.jsa" -Dspring.context.exit=onRefresh \
+        -jar "$WORK/$name/app.jar" > "$WORK/$name-training.log" 2>&1
+}
+
+# Starts the app until Spring reports it started, then stops it. Prints "<started in> <process running for>".
+start_once() {
+    local dir=$1 opts=$2 log="$WORK/run.log"
+    # shellcheck disable=SC2086
+    java $opts -jar "$dir/app.jar" --server.port="$PORT" > "$log" 2>&1 &
+    local pid=$!
+    for _ in $(seq 1 600); do
+        if grep -q "Started InternshipBackendApplication in" "$log"; then
+            break
+        fi
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "Application exited during startup, see $log" >&2
+            exit 1
+        fi
+        sleep 0.1
+    done
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+    sed -nE 's/.*Started InternshipBackendApplication in ([0-9.]+) seconds \(process running for ([0-9.]+)\).*/\1 \2/p' "$log"
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+measure() {
+    local label=$1 dir=$2 opts=$3 samples="$WORK/samples.txt"
+    : > "$samples"
+    start_once "$dir" "$opts" > /dev/null # warm the OS file cache
+    for _ in $(seq 1 "$RUNS"); do
+        start_once "$dir" "$opts" >> "$samples"
+    done
+    printf '| %s | %s | %s | %s |\n' "$label" "$RUNS" \
+        "$(cut -d' ' -f1 "$samples" | median)" "$(cut -d' ' -f2 "$samples" | median)"
+}
+
+mkdir -p "$WORK"
+build default "" ""
+build aot fast-startup "$AOT_OPTS"
+
+echo "| Mode | Runs | Context started (s, median) | JVM uptime at start (s, median) |"
+echo "|---|---|---|---|"
+measure "jar" "$WORK/default" ""
+measure "jar + CDS" "$WORK/default" "-XX:SharedArchiveFile=$WORK/default/app.jsa"
+measure "fast-startup (lazy)" "$WORK/default" "-Dspring.profiles.active=fast-startup"
+measure "fast-startup + AOT + CDS" "$WORK/aot" "-XX:SharedArchiveFile=$WORK/aot/app.jsa $AOT_OPTS"
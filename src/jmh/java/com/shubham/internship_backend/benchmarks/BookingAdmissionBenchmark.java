@@ -0,0 +1,190 @@
+package com.shubham.internship_backend.benchmarks;
+
+import com.shubham.internship_backend.dto.BookingRequest;
+import com.shubham.internship_backend.exception.ConflictException;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.Hotel;
+import com.shubham.internship_backend.observability.BookingMetrics;
+import com.shubham.internship_backend.observability.SampledEventLog;
+import com.shubham.internship_backend.service.BookingCalendarIndex;
+import com.shubham.internship_backend.service.BookingNightGuard;
+import com.shubham.internship_backend.service.BookingService;
+import com.shubham.internship_backend.service.BookingWriteBehind;
+import com.shubham.internship_backend.service.EmailService;
+import com.shubham.internship_backend.service.HotelCache;
+import com.shubham.internship_backend.service.HotelLockStripes;
+import com.shubham.internship_backend.service.RoomInventory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Room availability checks and {@link BookingService#createBooking} against a calendar that already
+ * holds {@code existingBookings} back-to-back stays. Mongo is replaced by {@link InMemoryStore},
+ * the night guard and email outbox by no-ops.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingAdmissionBenchmark {
+
+    private static final String HOTEL_ID = "HOTEL_001";
+    private static final LocalDate FIRST_NIGHT = LocalDate.of(2020, 1, 1);
+
+    @Param({ "10", "1000", "100000" })
+    public int existingBookings;
+
+    private InMemoryStore store;
+    private Hotel hotel;
+    private BookingCalendarIndex index;
+    private RoomInventory inventory;
+    private BookingService bookingService;
+
+    private LocalDate freeNight;
+    private LocalDate takenNight;
+    private BookingRequest conflictingRequest;
+    private BookingRequest freeRequest;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new InMemoryStore();
+        hotel = Hotel.builder().id(HOTEL_ID).name("Taj Palace").city("Mumbai").status("ACTIVE").build();
+        store.hotels.put(HOTEL_ID, hotel);
+
+        index = new BookingCalendarIndex(store.bookingRepository(), null);
+        // Every other night is booked, so free and taken nights sit in the middle of the calendar
+        for (int i = 0; i < existingBookings; i++) {
+            LocalDate start = FIRST_NIGHT.plusDays(2L * i);
+            index.add(Booking.builder()
+                    .id(new ObjectId().toHexString())
+                    .hotelId(HOTEL_ID)
+                    .guestName("Guest " + i)
+                    .guestEmail("guest" + i + "@example.com")
+                    .startDate(start)
+                    .endDate(start.plusDays(1))
+                    .createdAt(Instant.now())
+                    .build());
+        }
+        inventory = new RoomInventory(index);
+        inventory.warmUp();
+        takenNight = FIRST_NIGHT.plusDays(existingBookings / 2 * 2L);
+        freeNight = takenNight.plusDays(1);
+
+        bookingService = new BookingService(
+                store.bookingRepository(),
+                new HotelCache(store.hotelRepository(), new SimpleMeterRegistry(), 100, Duration.ofHours(1),
+                        Duration.ofSeconds(30)),
+                new NoOpEmailService(),
+                index,
+                new HotelLockStripes(64),
+                new NoOpNightGuard(),
+                new BookingMetrics(new SimpleMeterRegistry()),
+                new SampledEventLog(0),
+                event -> {
+                },
+                new BookingWriteBehind(null, null, index, new SimpleMeterRegistry(), false, 1, 1, Duration.ZERO,
+                        "MAJORITY"),
+                new BookingArchiver(null, index, inventory, new SimpleMeterRegistry(), event -> {
+                }, null, false, Period.ofDays(90), 1, Duration.ZERO, 1),
+                inventory);
+
+        conflictingRequest = request(takenNight, takenNight.plusDays(1));
+        freeRequest = request(freeNight, freeNight.plusDays(1));
+    }
+
+    @Benchmark
+    public boolean overlapHit() {
+        return inventory.hasRoom(hotel, takenNight, takenNight.plusDays(1));
+    }
+
+    @Benchmark
+    public boolean overlapMiss() {
+        return inventory.hasRoom(hotel, freeNight, freeNight.plusDays(1));
+    }
+
+    @Benchmark
+    public Object createBookingConflict() {
+        try {
+            return bookingService.createBooking(HOTEL_ID, "user-uuid-1234", conflictingRequest);
+        } catch (ConflictException e) {
+            return e;
+        }
+    }
+
+    /**
+     * Admits a booking into the free night and takes it out again, keeping the calendar size stable.
+     */
+    @Benchmark
+    public Booking createBookingAdmitted() {
+        Booking booking = bookingService.createBooking(HOTEL_ID, "user-uuid-1234", freeRequest);
+        index.remove(booking);
+        inventory.release(booking);
+        store.bookings.remove(booking.getId());
+        return booking;
+    }
+
+    private static BookingRequest request(LocalDate startDate, LocalDate endDate) {
+        BookingRequest request = new BookingRequest();
+        request.setGuestName("Rahul Sharma");
+        request.setGuestEmail("rahul@gmail.com");
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        return request;
+    }
+
+    private static final class NoOpNightGuard extends BookingNightGuard {
+        NoOpNightGuard() {
+            super(null);
+        }
+
+        @Override
+        public void reserve(Booking booking, int capacity) {
+        }
+
+        @Override
+        public Set<String> reserveAll(List<Booking> bookings, ToIntFunction<Booking> capacity) {
+            return Set.of();
+        }
+
+        @Override
+        public void release(String bookingId) {
+        }
+    }
+
+    private static final class NoOpEmailService extends EmailService {
+        NoOpEmailService() {
+            super(null);
+        }
+
+        @Override
+        public void sendBookingNotification(Booking booking) {
+        }
+
+        @Override
+        public void sendBatchNotification(List<Booking> bookings) {
+        }
+    }
+}
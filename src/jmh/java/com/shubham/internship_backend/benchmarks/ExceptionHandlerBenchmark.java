@@ -0,0 +1,55 @@
+package com.shubham.internship_backend.benchmarks;
+
+import com.shubham.internship_backend.exception.ConflictException;
+import com.shubham.internship_backend.exception.ErrorResponse;
+import com.shubham.internship_backend.exception.GlobalExceptionHandler;
+import com.shubham.internship_backend.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning the common booking errors into responses, including creating the exception
+ * (stack trace capture) the way the service does on every 404 and 409.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        handler = new GlobalExceptionHandler(new SimpleMeterRegistry());
+        request = new MockHttpServletRequest("POST", "/api/hotels/HOTEL_001/bookings");
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> conflict() {
+        return handler.handleConflictException(
+                new ConflictException("Booking dates overlap with existing booking"), request);
+    }
+
+    @Benchmark
+    public ResponseEntity<ErrorResponse> notFound() {
+        return handler.handleResourceNotFoundException(
+                new ResourceNotFoundException("Hotel not found with ID: HOTEL_999"), request);
+    }
+}
@@ -0,0 +1,80 @@
+package com.shubham.internship_backend.benchmarks;
+
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.Hotel;
+import com.shubham.internship_backend.repository.BookingRepository;
+import com.shubham.internship_backend.repository.HotelRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory stand-in for the Mongo repositories, so benchmarks run offline and measure
+ * the service code rather than the network. Only the methods the booking paths call are
+ * implemented; anything else throws.
+ */
+final class InMemoryStore {
+
+    final Map<String, Hotel> hotels = new ConcurrentHashMap<>();
+    final Map<String, Booking> bookings = new ConcurrentHashMap<>();
+
+    HotelRepository hotelRepository() {
+        return proxy(HotelRepository.class, (name, args) -> switch (name) {
+            case "findById" -> Optional.ofNullable(hotels.get((String) args[0]));
+            case "existsById" -> hotels.containsKey((String) args[0]);
+            case "findAll" -> new ArrayList<>(hotels.values());
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    BookingRepository bookingRepository() {
+        return proxy(BookingRepository.class, (name, args) -> switch (name) {
+            case "save" -> {
+                Booking booking = (Booking) args[0];
+                bookings.put(booking.getId(), booking);
+                yield booking;
+            }
+            case "insert" -> {
+                if (args[0] instanceof Booking booking) {
+                    bookings.put(booking.getId(), booking);
+                    yield booking;
+                }
+                List<Booking> batch = new ArrayList<>();
+                ((Iterable<Booking>) args[0]).forEach(booking -> {
+                    bookings.put(booking.getId(), booking);
+                    batch.add(booking);
+                });
+                yield batch;
+            }
+            case "findByHotelIdOrderByStartDateAsc" -> bookings.values().stream()
+                    .filter(booking -> booking.getHotelId().equals(args[0]))
+                    .sorted(Comparator.comparing(Booking::getStartDate))
+                    .toList();
+            default -> throw new UnsupportedOperationException(name);
+        });
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> type.getSimpleName() + "(in-memory)";
+                };
+            }
+            return handler.handle(method.getName(), args);
+        });
+    }
+}
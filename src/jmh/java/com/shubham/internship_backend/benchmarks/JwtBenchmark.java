@@ -0,0 +1,105 @@
+package com.shubham.internship_backend.benchmarks;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import com.shubham.internship_backend.config.SecurityConfig;
+import com.shubham.internship_backend.security.SupabaseJwtConverter;
+import com.shubham.internship_backend.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost: HS256 verification by the decoder built in
+ * {@link SecurityConfig#jwtDecoder()}, with and without the verified-token cache,
+ * and claim conversion by {@link SupabaseJwtConverter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-0123456789";
+
+    private JwtDecoder decoder;
+    private JwtDecoder cachingDecoder;
+    private SupabaseJwtConverter converter;
+    private String token;
+    private Jwt jwt;
+
+    @Setup
+    public void setUp() throws Exception {
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(new SimpleMeterRegistry(), 10_000);
+        converter = new SupabaseJwtConverter(verifiedTokenCache);
+        SecurityConfig securityConfig = new SecurityConfig(converter, verifiedTokenCache);
+        ReflectionTestUtils.setField(securityConfig, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(securityConfig, "jwtCacheEnabled", false);
+        decoder = securityConfig.jwtDecoder();
+        ReflectionTestUtils.setField(securityConfig, "jwtCacheEnabled", true);
+        cachingDecoder = securityConfig.jwtDecoder();
+
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject("user-uuid-1234")
+                .issuer("https://example.supabase.co/auth/v1")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(1, ChronoUnit.DAYS)))
+                .claim("email", "staff@example.com")
+                .claim("app_metadata", Map.of("role", "STAFF", "provider", "email"))
+                .build();
+        SignedJWT signed = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        signed.sign(new MACSigner(SECRET.getBytes(StandardCharsets.UTF_8)));
+        token = signed.serialize();
+        jwt = decoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decode() {
+        return decoder.decode(token);
+    }
+
+    @Benchmark
+    public Jwt decodeCached() {
+        return cachingDecoder.decode(token);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken convert() {
+        return converter.convert(jwt);
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken decodeAndConvert() {
+        return converter.convert(decoder.decode(token));
+    }
+
+    @Benchmark
+    public AbstractAuthenticationToken decodeAndConvertCached() {
+        return converter.convert(cachingDecoder.decode(token));
+    }
+}
@@ -0,0 +1,124 @@
+package com.shubham.internship_backend.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.shubham.internship_backend.dto.ApiResponse;
+import com.shubham.internship_backend.dto.BookingSummary;
+import com.shubham.internship_backend.model.Booking;
+import org.bson.types.ObjectId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Jackson serialization of the {@code GET /bookings} response body, using an
+ * {@link ObjectMapper} configured the way Spring Boot configures the MVC one.
+ * Compares full entities with {@code view=summary}, with and without the Blackbird module and gzip.
+ * Payload sizes are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({ "10", "1000", "100000" })
+    public int bookings;
+
+    @Param({ "false", "true" })
+    public boolean blackbird;
+
+    private ObjectMapper objectMapper;
+    private ObjectWriter typedWriter;
+    private ObjectWriter summaryWriter;
+    private ApiResponse<List<Booking>> response;
+    private ApiResponse<List<BookingSummary>> summaryResponse;
+
+    @Setup
+    public void setUp() throws Exception {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (blackbird) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+        typedWriter = objectMapper.writerFor(new TypeReference<ApiResponse<List<Booking>>>() {
+        });
+        summaryWriter = objectMapper.writerFor(new TypeReference<ApiResponse<List<BookingSummary>>>() {
+        });
+
+        List<Booking> data = new ArrayList<>(bookings);
+        LocalDate start = LocalDate.of(2020, 1, 1);
+        for (int i = 0; i < bookings; i++) {
+            data.add(Booking.builder()
+                    .id(new ObjectId().toHexString())
+                    .hotelId("HOTEL_001")
+                    .createdBy("user-uuid-1234")
+                    .guestName("Guest " + i)
+                    .guestEmail("guest" + i + "@example.com")
+                    .startDate(start.plusDays(2L * i))
+                    .endDate(start.plusDays(2L * i + 1))
+                    .createdAt(Instant.now())
+                    .build());
+        }
+        response = ApiResponse.success("Bookings fetched successfully", data);
+        summaryResponse = ApiResponse.success("Bookings fetched successfully",
+                data.stream().map(BookingSummary::of).toList());
+
+        System.out.printf("%n[payload] bookings=%d full=%d B (gzip %d B), summary=%d B (gzip %d B)%n", bookings,
+                typedWriter().length, fullGzip().length, summaryWriter().length, summaryGzip().length);
+    }
+
+    @Benchmark
+    public byte[] objectMapper() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] typedWriter() throws Exception {
+        return typedWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] summaryWriter() throws Exception {
+        return summaryWriter.writeValueAsBytes(summaryResponse);
+    }
+
+    @Benchmark
+    public byte[] fullGzip() throws Exception {
+        return gzip(typedWriter, response);
+    }
+
+    @Benchmark
+    public byte[] summaryGzip() throws Exception {
+        return gzip(summaryWriter, summaryResponse);
+    }
+
+    private static byte[] gzip(ObjectWriter writer, Object value) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            writer.writeValue(out, value);
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,228 @@
+package com.shubham.internship_backend.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load against the booking API: requests arrive at {@code rate} per second as a Poisson process,
+ * whether or not earlier ones have completed, which is how independent front-desk clients behave.
+ * A closed loop of N threads would instead slow down with the server and hide its queueing.
+ */
+final class LoadDriver {
+
+    enum Operation {
+        /** Keyset page of a hotel's calendar, as front-desk screens poll it. */
+        READ("200"),
+        /** New booking on free dates. */
+        WRITE("201"),
+        /** Booking on a night that is already full, answered with 409. */
+        CONFLICT("409");
+
+        final String expectedOutcome;
+
+        Operation(String expectedOutcome) {
+            this.expectedOutcome = expectedOutcome;
+        }
+    }
+
+    record Workload(
+            double rate,
+            Duration warmup,
+            Duration duration,
+            Map<Operation, Integer> mix,
+            int maxInFlight,
+            Duration requestTimeout) {
+    }
+
+    /**
+     * Hotels, room types and tokens the requests are built from.
+     */
+    record Fixture(
+            URI baseUri,
+            List<String> hotels,
+            List<String> roomTypes,
+            String fullHotel,
+            LocalDate fullNight,
+            LocalDate firstNight,
+            List<String> readerTokens,
+            List<String> writerTokens) {
+    }
+
+    private final Workload workload;
+    private final Fixture fixture;
+    private final HttpClient client;
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final int mixTotal;
+
+    LoadDriver(Workload workload, Fixture fixture, HttpClient client) {
+        this.workload = workload;
+        this.fixture = fixture;
+        this.client = client;
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation.expectedOutcome));
+        }
+        this.mixTotal = workload.mix().values().stream().mapToInt(Integer::intValue).sum();
+        if (mixTotal <= 0) {
+            throw new IllegalArgumentException("The operation mix must have a positive weight");
+        }
+    }
+
+    /**
+     * Runs warm-up and measurement and returns the measured part of the report.
+     */
+    Map<String, Object> run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + workload.warmup().toNanos();
+        long end = measureFrom + workload.duration().toNanos();
+        double meanGapNanos = 1_000_000_000.0 / workload.rate();
+
+        long due = start;
+        long sent = 0;
+        while (due < end) {
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+                continue;
+            }
+            send(pickOperation(), due, due >= measureFrom);
+            sent++;
+            // Exponential gaps: arrivals do not line up behind each other
+            due += (long) (-Math.log(1 - ThreadLocalRandom.current().nextDouble()) * meanGapNanos);
+        }
+
+        // Let the last requests finish so they are counted rather than lost
+        long drainDeadline = System.nanoTime() + workload.requestTimeout().toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+
+        double seconds = workload.duration().toNanos() / 1_000_000_000.0;
+        Map<String, Object> operations = new LinkedHashMap<>();
+        Histogram allLatencies = new Histogram(3);
+        Map<String, Long> allOutcomes = new TreeMap<>();
+        long requests = 0;
+        long errors = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operation = entry.getValue();
+            operations.put(entry.getKey().name().toLowerCase(Locale.ROOT), operation.report(seconds));
+            operation.addLatenciesTo(allLatencies);
+            operation.addOutcomesTo(allOutcomes);
+            requests += operation.requests();
+            errors += operation.errors();
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("arrivalsScheduled", sent);
+        report.put("total", LoadReport.section(requests, errors, seconds, allOutcomes, allLatencies));
+        report.put("operations", operations);
+        return report;
+    }
+
+    private Operation pickOperation() {
+        int pick = ThreadLocalRandom.current().nextInt(mixTotal);
+        for (Map.Entry<Operation, Integer> entry : workload.mix().entrySet()) {
+            pick -= entry.getValue();
+            if (pick < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+
+    private void send(Operation operation, long due, boolean measured) {
+        OperationStats operationStats = stats.get(operation);
+        if (inFlight.incrementAndGet() > workload.maxInFlight()) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                operationStats.dropped();
+            }
+            return;
+        }
+
+        CompletableFuture<HttpResponse<Void>> response;
+        try {
+            response = client.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding());
+        } catch (RuntimeException e) {
+            inFlight.decrementAndGet();
+            if (measured) {
+                operationStats.record("client_error", -1);
+            }
+            return;
+        }
+        response.whenComplete((result, failure) -> {
+            long latency = System.nanoTime() - due;
+            inFlight.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            if (failure == null) {
+                operationStats.record(String.valueOf(result.statusCode()), latency);
+            } else if (failure.getCause() instanceof HttpTimeoutException || failure instanceof HttpTimeoutException) {
+                operationStats.record("timeout", latency);
+            } else {
+                operationStats.record("io_error", latency);
+            }
+        });
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (operation) {
+            case READ -> {
+                String hotel = pick(fixture.hotels());
+                LocalDate from = fixture.firstNight().plusDays(random.nextInt(365));
+                yield HttpRequest.newBuilder(fixture.baseUri().resolve(
+                                "/api/hotels/" + hotel + "/bookings?view=summary&limit=100&from=" + from))
+                        .timeout(workload.requestTimeout())
+                        .header("Authorization", "Bearer " + pick(fixture.readerTokens()))
+                        .GET()
+                        .build();
+            }
+            case WRITE -> {
+                // Spread over ten years of nights so writes rarely fill a room type by themselves
+                LocalDate start = fixture.firstNight().plusDays(random.nextInt(3650));
+                yield booking(pick(fixture.hotels()), pick(fixture.roomTypes()), start,
+                        start.plusDays(1 + random.nextInt(4)));
+            }
+            case CONFLICT -> booking(fixture.fullHotel(), null, fixture.fullNight(), fixture.fullNight().plusDays(1));
+        };
+    }
+
+    private HttpRequest booking(String hotelId, String roomType, LocalDate startDate, LocalDate endDate) {
+        int guest = ThreadLocalRandom.current().nextInt(1_000_000);
+        String body = "{\"guestName\":\"Load Guest " + guest + "\","
+                + "\"guestEmail\":\"guest" + guest + "@loadtest.local\","
+                + "\"startDate\":\"" + startDate + "\","
+                + "\"endDate\":\"" + endDate + "\""
+                + (roomType != null ? ",\"roomType\":\"" + roomType + "\"" : "")
+                + "}";
+        return HttpRequest.newBuilder(fixture.baseUri().resolve("/api/hotels/" + hotelId + "/bookings"))
+                .timeout(workload.requestTimeout())
+                .header("Authorization", "Bearer " + pick(fixture.writerTokens()))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private static <T> T pick(List<T> values) {
+        return values.get(ThreadLocalRandom.current().nextInt(values.size()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.shubham.internship_backend.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Builds the JSON report of a run. Field names are stable so reports from different runs can be diffed
+ * or charted; latencies are in milliseconds.
+ */
+final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    static Map<String, Object> section(long requests, long errors, double seconds, Map<String, Long> outcomes,
+            Histogram latency) {
+        Map<String, Object> section = new LinkedHashMap<>();
+        section.put("requests", requests);
+        section.put("throughputPerSecond", round(requests / seconds));
+        section.put("errors", errors);
+        section.put("errorRate", requests == 0 ? 0.0 : round((double) errors / requests));
+        section.put("outcomes", outcomes);
+
+        Map<String, Object> latencyMs = new LinkedHashMap<>();
+        latencyMs.put("p50", millis(latency.getValueAtPercentile(50)));
+        latencyMs.put("p99", millis(latency.getValueAtPercentile(99)));
+        latencyMs.put("p999", millis(latency.getValueAtPercentile(99.9)));
+        latencyMs.put("max", millis(latency.getMaxValue()));
+        latencyMs.put("mean", round(latency.getMean() / 1_000_000.0));
+        section.put("latencyMs", latencyMs);
+        return section;
+    }
+
+    static void write(Path file, Map<String, Object> report) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), report);
+    }
+
+    private static double millis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
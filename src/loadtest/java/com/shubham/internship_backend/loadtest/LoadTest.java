@@ -0,0 +1,226 @@
+package com.shubham.internship_backend.loadtest;
+
+import com.shubham.internship_backend.InternshipBackendApplication;
+import com.shubham.internship_backend.loadtest.LoadDriver.Operation;
+import de.flapdoodle.embed.mongo.commands.ServerAddress;
+import de.flapdoodle.embed.mongo.distribution.Version;
+import de.flapdoodle.embed.mongo.transitions.Mongod;
+import de.flapdoodle.embed.mongo.transitions.RunningMongodProcess;
+import de.flapdoodle.reverse.TransitionWalker;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Offline end-to-end load test: starts an embedded MongoDB and the app with the {@code loadtest} profile
+ * (fake mail sender, no rate limiting), mints its own tokens, drives an open-model workload against the booking
+ * API and writes a JSON report.
+ * <p>
+ * {@code --profiles=reactive} adds Spring profiles, and options with a dot ({@code --app.write-behind.enabled=true})
+ * are passed to the app as properties. {@code --target=http://host:port --jwt-secret=...} drives an already running
+ * instance instead, and {@code --mongo-uri=...} starts the app against an existing MongoDB (e.g. a replica set).
+ *
+ * <pre>
+ * ./mvnw -Ploadtest test-compile exec:exec -Dloadtest.args="--rate=300 --duration=120"
+ * </pre>
+ */
+public final class LoadTest {
+
+    private static final List<String> HOTELS = List.of("LOAD_001", "LOAD_002", "LOAD_003", "LOAD_004");
+    private static final List<String> ROOM_TYPES = List.of("STANDARD", "DELUXE");
+    private static final String FULL_HOTEL = "LOAD_FULL";
+    private static final int USERS_PER_ROLE = 50;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        LoadDriver.Workload workload = new LoadDriver.Workload(
+                Double.parseDouble(options.getOrDefault("rate", "200")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "15"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60"))),
+                mix(options.getOrDefault("mix", "read:80,write:15,conflict:5")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "1024")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("request-timeout", "10"))));
+        Path reportFile = Path.of(options.getOrDefault("report", "target/loadtest-report.json"));
+
+        String target = options.get("target");
+        if (target != null) {
+            String secret = options.get("jwt-secret");
+            if (secret == null) {
+                throw new IllegalArgumentException("--target needs --jwt-secret, the server's SUPABASE_JWT_SECRET");
+            }
+            Map<String, Object> report = drive(URI.create(target), secret, workload);
+            LoadReport.write(reportFile, report);
+            System.out.println("Load test report written to " + reportFile.toAbsolutePath());
+            return;
+        }
+
+        String mongoUri = options.get("mongo-uri");
+        if (mongoUri != null) {
+            runAgainst(mongoUri, options, workload, reportFile);
+            return;
+        }
+        try (TransitionWalker.ReachedState<RunningMongodProcess> mongod = Mongod.instance()
+                .start(Version.Main.V7_0)) {
+            ServerAddress address = mongod.current().getServerAddress();
+            runAgainst("mongodb://" + address.getHost() + ":" + address.getPort(), options, workload, reportFile);
+        }
+    }
+
+    private static void runAgainst(String mongoUri, Map<String, String> options, LoadDriver.Workload workload,
+            Path reportFile) throws Exception {
+        String secret = "loadtest-" + UUID.randomUUID() + UUID.randomUUID();
+        // Command-line arguments, so they win over application.yaml and any MONGODB_URI in the environment
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("MONGODB_URI", mongoUri);
+        properties.put("MONGODB_DATABASE", "loadtest");
+        properties.put("SUPABASE_JWT_SECRET", secret);
+        properties.put("MAIL_USERNAME", "loadtest@loadtest.local");
+        properties.put("MAIL_PASSWORD", "unused");
+        properties.put("SUPPORT_EMAIL", "support@loadtest.local");
+        properties.put("server.port", "0");
+        options.forEach((key, value) -> {
+            if (key.contains(".")) {
+                properties.put(key, value);
+            }
+        });
+        String[] appArgs = properties.entrySet().stream()
+                .map(property -> "--" + property.getKey() + "=" + property.getValue())
+                .toArray(String[]::new);
+
+        List<String> profiles = new ArrayList<>(List.of("loadtest"));
+        if (options.containsKey("profiles")) {
+            profiles.addAll(List.of(options.get("profiles").split(",")));
+        }
+        try (ConfigurableApplicationContext app = new SpringApplicationBuilder(InternshipBackendApplication.class)
+                .profiles(profiles.toArray(String[]::new))
+                .run(appArgs)) {
+            int port = ((WebServerApplicationContext) app).getWebServer().getPort();
+            Map<String, Object> report = drive(URI.create("http://localhost:" + port), secret, workload);
+            report.put("profiles", profiles);
+            report.put("mailsSent", app.getBean(LoadTestConfig.CountingMailSender.class).sent());
+            LoadReport.write(reportFile, report);
+        }
+        System.out.println("Load test report written to " + reportFile.toAbsolutePath());
+    }
+
+    private static Map<String, Object> drive(URI baseUri, String secret, LoadDriver.Workload workload)
+            throws Exception {
+        TokenMinter minter = new TokenMinter(secret, workload.warmup().plus(workload.duration()).plusHours(1));
+        List<String> readers = tokens(minter, "USER");
+        List<String> writers = new ArrayList<>(tokens(minter, "STAFF"));
+        writers.addAll(tokens(minter, "RECEPTION"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(5))
+                    .build();
+
+            // Fill the single room of the full hotel so conflict requests always have something to hit
+            LocalDate firstNight = LocalDate.now().plusYears(1);
+            fillNight(client, baseUri, writers.get(0), firstNight);
+
+            LoadDriver.Fixture fixture = new LoadDriver.Fixture(baseUri, HOTELS, ROOM_TYPES, FULL_HOTEL, firstNight,
+                    firstNight, readers, writers);
+            Instant startedAt = Instant.now();
+            Map<String, Object> measured = new LoadDriver(workload, fixture, client).run();
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("startedAt", startedAt.toString());
+            report.put("target", baseUri.toString());
+            report.put("config", config(workload));
+            report.putAll(measured);
+            return report;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void fillNight(HttpClient client, URI baseUri, String token, LocalDate night) throws Exception {
+        String body = "{\"guestName\":\"Blocking Guest\",\"guestEmail\":\"blocking@loadtest.local\","
+                + "\"startDate\":\"" + night + "\",\"endDate\":\"" + night.plusDays(1) + "\"}";
+        HttpResponse<String> response = client.send(HttpRequest.newBuilder(
+                        baseUri.resolve("/api/hotels/" + FULL_HOTEL + "/bookings"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        // 409 means an earlier run against the same database already filled it
+        if (response.statusCode() != 201 && response.statusCode() != 409) {
+            throw new IllegalStateException("Could not prepare " + FULL_HOTEL + ": HTTP " + response.statusCode()
+                    + " " + response.body());
+        }
+    }
+
+    private static List<String> tokens(TokenMinter minter, String role) {
+        List<String> tokens = new ArrayList<>(USERS_PER_ROLE);
+        for (int i = 0; i < USERS_PER_ROLE; i++) {
+            tokens.add(minter.mint("loadtest-" + role.toLowerCase(Locale.ROOT) + "-" + i, role));
+        }
+        return tokens;
+    }
+
+    private static Map<String, Object> config(LoadDriver.Workload workload) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("arrivals", "poisson");
+        config.put("ratePerSecond", workload.rate());
+        config.put("warmupSeconds", workload.warmup().toSeconds());
+        config.put("durationSeconds", workload.duration().toSeconds());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        workload.mix().forEach((operation, weight) -> mix.put(operation.name().toLowerCase(Locale.ROOT), weight));
+        config.put("mix", mix);
+        config.put("maxInFlight", workload.maxInFlight());
+        config.put("requestTimeoutSeconds", workload.requestTimeout().toSeconds());
+        return config;
+    }
+
+    // read:80,write:15,conflict:5
+    private static Map<Operation, Integer> mix(String value) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            if (weight.length != 2) {
+                throw new IllegalArgumentException("--mix entries must look like read:80, found '" + part + "'");
+            }
+            mix.put(Operation.valueOf(weight[0].trim().toUpperCase(Locale.ROOT)), Integer.parseInt(weight[1].trim()));
+        }
+        return mix;
+    }
+
+    // --key=value
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (!arg.startsWith("--") || equals < 0) {
+                throw new IllegalArgumentException("Expected --key=value, found '" + arg + "'");
+            }
+            options.put(arg.substring(2, equals), arg.substring(equals + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,39 @@
+package com.shubham.internship_backend.loadtest;
+
+import jakarta.mail.internet.MimeMessage;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Beans that replace external services while the app runs under {@link LoadTest}.
+ */
+@Configuration
+@Profile("loadtest")
+class LoadTestConfig {
+
+    @Bean
+    CountingMailSender javaMailSender() {
+        return new CountingMailSender();
+    }
+
+    /**
+     * Accepts every message without connecting to SMTP, so the outbox drains as it would in production.
+     */
+    static final class CountingMailSender extends JavaMailSenderImpl {
+
+        private final AtomicLong sent = new AtomicLong();
+
+        @Override
+        protected void doSend(MimeMessage[] mimeMessages, Object[] originalMessages) {
+            sent.addAndGet(mimeMessages.length);
+        }
+
+        long sent() {
+            return sent.get();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.shubham.internship_backend.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and outcomes of one operation type. Latency runs from the moment a request was due to be sent,
+ * so a server that falls behind shows up in the percentiles instead of silently lowering the arrival rate.
+ */
+final class OperationStats {
+
+    private final String expectedOutcome;
+    private final Histogram latency = new ConcurrentHistogram(3);
+    private final ConcurrentMap<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+    /**
+     * @param expectedOutcome the outcome that is not an error, e.g. {@code 201}
+     */
+    OperationStats(String expectedOutcome) {
+        this.expectedOutcome = expectedOutcome;
+    }
+
+    void record(String outcome, long latencyNanos) {
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        if (latencyNanos >= 0) {
+            latency.recordValue(latencyNanos);
+        }
+    }
+
+    /**
+     * A request that was due but not sent because {@code max-in-flight} requests were outstanding.
+     */
+    void dropped() {
+        record("dropped", -1);
+    }
+
+    long requests() {
+        return outcomes.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    long errors() {
+        return requests() - outcomes.getOrDefault(expectedOutcome, new LongAdder()).sum();
+    }
+
+    void addLatenciesTo(Histogram total) {
+        total.add(latency);
+    }
+
+    void addOutcomesTo(Map<String, Long> total) {
+        outcomes.forEach((outcome, count) -> total.merge(outcome, count.sum(), Long::sum));
+    }
+
+    Map<String, Object> report(double seconds) {
+        Map<String, Long> byOutcome = new TreeMap<>();
+        addOutcomesTo(byOutcome);
+        return LoadReport.section(requests(), errors(), seconds, byOutcome, latency);
+    }
+}
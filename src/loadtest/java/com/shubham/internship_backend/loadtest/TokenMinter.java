@@ -0,0 +1,57 @@
+package com.shubham.internship_backend.loadtest;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Mints Supabase-shaped HS256 tokens with the secret the app under test was started with,
+ * so load runs need no Supabase project.
+ */
+final class TokenMinter {
+
+    private final MACSigner signer;
+    private final Duration ttl;
+
+    TokenMinter(String secret, Duration ttl) {
+        try {
+            this.signer = new MACSigner(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (JOSEException e) {
+            throw new IllegalArgumentException("HS256 needs a secret of at least 32 bytes", e);
+        }
+        this.ttl = ttl;
+    }
+
+    /**
+     * @param role {@code STAFF}, {@code RECEPTION}, {@code ADMIN} or {@code USER}, placed in {@code app_metadata}
+     */
+    String mint(String subject, String role) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .subject(subject)
+                .issuer("https://loadtest.supabase.co/auth/v1")
+                .audience("authenticated")
+                .issueTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(ttl)))
+                .claim("email", subject + "@loadtest.local")
+                .claim("role", "authenticated")
+                .claim("app_metadata", Map.of("role", role, "provider", "email"))
+                .build();
+        SignedJWT jwt = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException e) {
+            throw new IllegalStateException("Could not sign load-test token", e);
+        }
+        return jwt.serialize();
+    }
+}
@@ -0,0 +1,353 @@
+package com.shubham.internship_backend.config;
+
+import com.shubham.internship_backend.exception.ServiceUnavailableException;
+import com.shubham.internship_backend.service.BookingIdempotency;
+import com.shubham.internship_backend.service.HotelPartitioner;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+import org.springframework.web.util.UriUtils;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sends booking writes for a hotel to the member that owns it (see {@link HotelPartitioner}) and relays the
+ * answer. Runs after Spring Security, so only authenticated requests are forwarded; the owner checks the token
+ * and role again. A forwarded request is never forwarded a second time, even if the members disagree on the owner
+ * during a handover.
+ * <p>
+ * Forwards are signed with {@code app.partitioning.secret}, so only members can mark a request as forwarded. The
+ * signature covers a SHA-256 of the body, so a signed forward cannot be replayed with another body. Member headers
+ * without a valid signature are removed, and the request is routed like any other.
+ * <p>
+ * When the owner cannot be connected to, the write is admitted here instead. When it was reached but did not
+ * answer, the outcome is unknown and the caller gets 503, to retry with its {@code Idempotency-Key}.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class BookingForwardingFilter extends OncePerRequestFilter {
+
+    static final String FORWARDED_BY = "X-Forwarded-By-Member";
+    static final String MEMBER_SIGNATURE = "X-Member-Signature";
+    static final String MEMBER_BODY_DIGEST = "X-Member-Body-SHA256";
+
+    private static final String HMAC = "HmacSHA256";
+    private static final String BODY_DIGEST = "SHA-256";
+    // How far a signature's timestamp may be from this member's clock
+    private static final Duration SIGNATURE_SKEW = Duration.ofMinutes(5);
+
+    // Single and same-hotel batch creates; the multi-hotel batch is admitted wherever it arrives
+    private static final Pattern HOTEL_WRITE = Pattern.compile("^/api/hotels/([^/]+)/bookings(:batch)?$");
+    private static final List<String> REQUEST_HEADERS = List.of(HttpHeaders.AUTHORIZATION, HttpHeaders.CONTENT_TYPE,
+            HttpHeaders.ACCEPT, BookingIdempotency.HEADER);
+    private static final List<String> RESPONSE_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.RETRY_AFTER,
+            HttpHeaders.LOCATION, "Idempotent-Replayed");
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final HotelPartitioner partitioner;
+    private final HandlerExceptionResolver exceptionResolver;
+    private final MeterRegistry meterRegistry;
+    private final Duration forwardTimeout;
+    private final SecretKeySpec secret;
+    private final HttpClient client;
+
+    public BookingForwardingFilter(HotelPartitioner partitioner,
+            @Qualifier("handlerExceptionResolver") HandlerExceptionResolver exceptionResolver,
+            MeterRegistry meterRegistry,
+            @Value("${app.partitioning.connect-timeout:PT1S}") Duration connectTimeout,
+            @Value("${app.partitioning.forward-timeout:PT10S}") Duration forwardTimeout,
+            @Value("${app.partitioning.secret:}") String secret) {
+        if (secret.isBlank()) {
+            throw new IllegalStateException("app.partitioning.secret must be set when partitioning is enabled");
+        }
+        this.partitioner = partitioner;
+        this.exceptionResolver = exceptionResolver;
+        this.meterRegistry = meterRegistry;
+        this.forwardTimeout = forwardTimeout;
+        this.secret = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC);
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !isHotelWrite(request) && !hasMemberHeaders(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (hasMemberHeaders(request)) {
+            // The signature covers the body, so it is read here and replayed to the rest of the chain
+            byte[] body = request.getInputStream().readAllBytes();
+            request = new CachedBodyRequest(request, body);
+            if (isSignedByMember(request, body)) {
+                // Already routed by a member: admit here
+                chain.doFilter(request, response);
+                return;
+            }
+            meterRegistry.counter("partition.forwards", "outcome", "unsigned").increment();
+            log.warn("Ignoring member headers without a valid signature on {}", request.getRequestURI());
+            request = new WithoutMemberHeaders(request);
+        }
+        if (!isHotelWrite(request)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        Matcher matcher = HOTEL_WRITE.matcher(pathOf(request));
+        matcher.matches();
+        String hotelId = UriUtils.decode(matcher.group(1), StandardCharsets.UTF_8);
+
+        try (HotelPartitioner.Admission admission = partitioner.admit(hotelId)) {
+            if (admission.owner() == null) {
+                chain.doFilter(request, response);
+                return;
+            }
+            byte[] body = request.getInputStream().readAllBytes();
+            if (!forward(admission.owner(), body, request, response)) {
+                chain.doFilter(new CachedBodyRequest(request, body), response);
+            }
+        }
+    }
+
+    // False if the owner could not be connected to, so nothing was sent
+    private boolean forward(String owner, byte[] body, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        String target = owner + request.getRequestURI()
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        long timestamp = Instant.now().getEpochSecond();
+        String bodyDigest = digestOf(body);
+        HttpRequest.Builder forwarded = HttpRequest.newBuilder(URI.create(target))
+                .timeout(forwardTimeout)
+                .header(FORWARDED_BY, partitioner.self())
+                .header(MEMBER_BODY_DIGEST, bodyDigest)
+                .header(MEMBER_SIGNATURE, timestamp + ":" + sign(partitioner.self(), timestamp,
+                        request.getMethod(), request.getRequestURI(), bodyDigest))
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body));
+        for (String name : REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                forwarded.header(name, value);
+            }
+        }
+
+        HttpResponse<byte[]> answer;
+        try {
+            answer = client.send(forwarded.build(), HttpResponse.BodyHandlers.ofByteArray());
+        } catch (HttpConnectTimeoutException | ConnectException e) {
+            meterRegistry.counter("partition.forwards", "outcome", "unreachable").increment();
+            log.warn("Owner {} unreachable, admitting {} here", owner, request.getRequestURI());
+            return false;
+        } catch (IOException e) {
+            meterRegistry.counter("partition.forwards", "outcome", "failed").increment();
+            log.warn("No answer from owner {} for {}", owner, request.getRequestURI(), e);
+            exceptionResolver.resolveException(request, response, null,
+                    new ServiceUnavailableException("Booking owner did not answer, please retry", RETRY_AFTER));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while forwarding to " + owner, e);
+        }
+
+        meterRegistry.counter("partition.forwards", "outcome", "forwarded").increment();
+        response.setStatus(answer.statusCode());
+        for (String name : RESPONSE_HEADERS) {
+            answer.headers().firstValue(name).ifPresent(value -> response.setHeader(name, value));
+        }
+        response.getOutputStream().write(answer.body());
+        return true;
+    }
+
+    // The signature is "<epoch seconds>:<HMAC of member, time, method, URI and body digest>", so it cannot be
+    // reused elsewhere
+    private boolean isSignedByMember(HttpServletRequest request, byte[] body) {
+        String member = request.getHeader(FORWARDED_BY);
+        String signature = request.getHeader(MEMBER_SIGNATURE);
+        String bodyDigest = request.getHeader(MEMBER_BODY_DIGEST);
+        if (member == null || signature == null || bodyDigest == null) {
+            return false;
+        }
+        if (!MessageDigest.isEqual(digestOf(body).getBytes(StandardCharsets.UTF_8),
+                bodyDigest.getBytes(StandardCharsets.UTF_8))) {
+            return false;
+        }
+        int colon = signature.indexOf(':');
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(signature.substring(0, Math.max(colon, 0)));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(Instant.now().getEpochSecond() - timestamp) > SIGNATURE_SKEW.toSeconds()) {
+            return false;
+        }
+        String expected = sign(member, timestamp, request.getMethod(), request.getRequestURI(), bodyDigest);
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8),
+                signature.substring(colon + 1).getBytes(StandardCharsets.UTF_8));
+    }
+
+    String sign(String member, long timestamp, String method, String uri, String bodyDigest) {
+        try {
+            Mac mac = Mac.getInstance(HMAC);
+            mac.init(secret);
+            byte[] digest = mac.doFinal((member + "\n" + timestamp + "\n" + method + "\n" + uri + "\n" + bodyDigest)
+                    .getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+    }
+
+    static String digestOf(byte[] body) {
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MessageDigest.getInstance(BODY_DIGEST).digest(body));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static boolean hasMemberHeaders(HttpServletRequest request) {
+        return request.getHeader(FORWARDED_BY) != null || request.getHeader(MEMBER_SIGNATURE) != null
+                || request.getHeader(MEMBER_BODY_DIGEST) != null;
+    }
+
+    private static boolean isHotelWrite(HttpServletRequest request) {
+        return "POST".equals(request.getMethod()) && HOTEL_WRITE.matcher(pathOf(request)).matches();
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    /**
+     * Hides member headers a client sent, so nothing after this filter can take the request for a forward.
+     */
+    private static final class WithoutMemberHeaders extends HttpServletRequestWrapper {
+
+        WithoutMemberHeaders(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return isMemberHeader(name) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return isMemberHeader(name) ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return Collections.enumeration(Collections.list(super.getHeaderNames()).stream()
+                    .filter(name -> !isMemberHeader(name))
+                    .toList());
+        }
+
+        private static boolean isMemberHeader(String name) {
+            return FORWARDED_BY.equalsIgnoreCase(name) || MEMBER_SIGNATURE.equalsIgnoreCase(name)
+                    || MEMBER_BODY_DIGEST.equalsIgnoreCase(name);
+        }
+    }
+
+    /**
+     * Replays a body that was already read for forwarding.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is in memory, so it is available and fully read at once
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            Charset charset = getCharacterEncoding() != null
+                    ? Charset.forName(getCharacterEncoding()) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
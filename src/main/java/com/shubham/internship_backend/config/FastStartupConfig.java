@@ -0,0 +1,26 @@
+package com.shubham.internship_backend.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.mail.MailSender;
+
+/**
+ * With {@code spring.main.lazy-initialization} on, keeps every bean eager except the API docs and the mail stack.
+ * Those are only needed on the first docs request or the first outbox delivery, not to serve bookings.
+ */
+@Configuration
+@Profile("fast-startup")
+public class FastStartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerUnlessDeferrable() {
+        return (beanName, beanDefinition, beanType) -> !isDeferrable(beanType);
+    }
+
+    private static boolean isDeferrable(Class<?> beanType) {
+        return beanType != null
+                && (beanType.getName().startsWith("org.springdoc.") || MailSender.class.isAssignableFrom(beanType));
+    }
+}
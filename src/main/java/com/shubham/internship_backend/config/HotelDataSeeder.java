@@ -1,78 +1,70 @@
 package com.shubham.internship_backend.config;
 
-import com.shubham.internship_backend.model.Hotel;
-import com.shubham.internship_backend.repository.HotelRepository;
+import com.shubham.internship_backend.dto.HotelImportError;
+import com.shubham.internship_backend.dto.HotelImportSummary;
+import com.shubham.internship_backend.service.HotelImportService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
 
+/**
+ * Seeds hotels from {@code app.seed-file} (CSV or NDJSON) once the instance is accepting traffic,
+ * so seeding never delays readiness. Existing hotels are left untouched. A seed that fails is logged
+ * and skipped: the instance is already serving and keeps running.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
-public class HotelDataSeeder implements CommandLineRunner {
+public class HotelDataSeeder {
 
-    private final HotelRepository hotelRepository;
+    private final HotelImportService hotelImportService;
 
     @Value("${app.seed-data:false}")
     private boolean seedDataEnabled;
 
-    @Override
-    public void run(String... args) {
+    @Value("${app.seed-file:classpath:seed/hotels.csv}")
+    private Resource seedFile;
+
+    @EventListener(condition = "#event.state == "
+            + "T(org.springframework.boot.availability.ReadinessState).ACCEPTING_TRAFFIC")
+    public void seed(AvailabilityChangeEvent<ReadinessState> event) {
 
         if (!seedDataEnabled) {
             log.info("⏭️ Data seeding disabled");
             return;
         }
 
-        List<Hotel> hotels = List.of(
-                Hotel.builder()
-                        .id("HOTEL_001")
-                        .name("Taj Palace")
-                        .city("Mumbai")
-                        .status("ACTIVE")
-                        .build(),
-
-                Hotel.builder()
-                        .id("HOTEL_002")
-                        .name("The Oberoi")
-                        .city("Delhi")
-                        .status("ACTIVE")
-                        .build(),
-
-                Hotel.builder()
-                        .id("HOTEL_003")
-                        .name("ITC Grand Chola")
-                        .city("Chennai")
-                        .status("ACTIVE")
-                        .build(),
-
-                Hotel.builder()
-                        .id("HOTEL_004")
-                        .name("Leela Palace")
-                        .city("Bengaluru")
-                        .status("ACTIVE")
-                        .build(),
+        HotelImportSummary summary;
+        try (InputStream input = seedFile.getInputStream()) {
+            summary = hotelImportService.importHotels(input, HotelImportService.Format.fromFilename(
+                    seedFile.getFilename()), HotelImportService.Mode.INSERT_MISSING,
+                    new HotelImportService.Listener() {
+                        @Override
+                        public void onError(HotelImportError error) {
+                            log.warn("🏨 Skipped seed row at line {}: {}", error.line(), error.message());
+                        }
 
-                Hotel.builder()
-                        .id("HOTEL_005")
-                        .name("Hyatt Regency")
-                        .city("Pune")
-                        .status("ACTIVE")
-                        .build());
-
-        hotels.forEach(hotel -> {
-            if (!hotelRepository.existsById(hotel.getId())) {
-                hotelRepository.save(hotel);
-                log.info("🏨 Seeded Hotel: {} - {}", hotel.getId(), hotel.getName());
-            } else {
-                log.info("🏨 Hotel already exists: {}", hotel.getId());
-            }
-        });
+                        @Override
+                        public void onProgress(HotelImportSummary progress) {
+                            log.debug("🏨 Seeded {} of {} hotels so far", progress.inserted(), progress.processed());
+                        }
+                    });
+        } catch (IOException | RuntimeException e) {
+            // Chunks written before the failure are kept; a restart seeds the rest
+            log.error("Hotel seeding from {} failed", seedFile, e);
+            return;
+        }
 
-        log.info("✅ Hotel seeding completed");
+        log.info("✅ Hotel seeding completed from {}: {} seeded, {} already existed, {} skipped",
+                seedFile.getFilename(), summary.inserted(), summary.processed() - summary.inserted() - summary.failed(),
+                summary.failed());
     }
-}
\ No newline at end of file
+}
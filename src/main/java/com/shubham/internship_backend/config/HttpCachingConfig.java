@@ -0,0 +1,35 @@
+package com.shubham.internship_backend.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.http.etag.enabled", havingValue = "true", matchIfMissing = true)
+public class HttpCachingConfig {
+
+    /**
+     * Adds an ETag to booking list responses and answers a matching {@code If-None-Match} with 304,
+     * so an unchanged calendar is not sent again. The body is still built, only the transfer is saved.
+     * The full list already carries the calendar version from {@code BookingFeed}, which the filter keeps;
+     * for it a match is answered before the body is built. The NDJSON export and the SSE feed are left alone,
+     * buffering them would defeat streaming.
+     */
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> bookingListEtagFilter() {
+        ShallowEtagHeaderFilter filter = new ShallowEtagHeaderFilter() {
+            @Override
+            protected boolean shouldNotFilter(HttpServletRequest request) {
+                return !"GET".equals(request.getMethod()) || !request.getRequestURI().endsWith("/bookings");
+            }
+        };
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/hotels/*");
+        return registration;
+    }
+}
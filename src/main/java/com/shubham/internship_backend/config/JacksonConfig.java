@@ -0,0 +1,19 @@
+package com.shubham.internship_backend.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Replaces Jackson's reflective getter/setter calls with generated lambdas.
+     * Spring Boot registers every {@link Module} bean with the application {@code ObjectMapper}.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
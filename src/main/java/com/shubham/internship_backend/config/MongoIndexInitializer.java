@@ -0,0 +1,64 @@
+package com.shubham.internship_backend.config;
+
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.BookingNight;
+import com.shubham.internship_backend.model.ChangeStreamCheckpoint;
+import com.shubham.internship_backend.model.EmailOutboxMessage;
+import com.shubham.internship_backend.model.IdempotencyRecord;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the indexes declared with {@code @Indexed} and {@code @CompoundIndex} on the documents below,
+ * leaving out those of embedded documents.
+ * {@code spring.data.mongodb.auto-index-creation} is off, so without this they would never exist.
+ * Indexes that already exist are left as they are.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    private static final List<Class<?>> INDEXED = List.of(
+            IdempotencyRecord.class,
+            EmailOutboxMessage.class,
+            Booking.class,
+            BookingNight.class,
+            ChangeStreamCheckpoint.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void ensureIndexes() {
+        MongoPersistentEntityIndexResolver resolver =
+                new MongoPersistentEntityIndexResolver(mongoTemplate.getConverter().getMappingContext());
+        for (Class<?> type : INDEXED) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            for (IndexDefinition index : resolver.resolveIndexFor(type)) {
+                // Indexes of embedded documents, like the booking stored with an idempotency key, are not wanted
+                if (index.getIndexKeys().keySet().stream().anyMatch(key -> key.contains("."))) {
+                    continue;
+                }
+                try {
+                    indexOps.ensureIndex(index);
+                } catch (RuntimeException e) {
+                    // Usually an index with the same keys but other options; queries still work without it
+                    log.error("Could not create index {} on {}", index.getIndexOptions().get("name"),
+                            mongoTemplate.getCollectionName(type), e);
+                }
+            }
+        }
+    }
+}
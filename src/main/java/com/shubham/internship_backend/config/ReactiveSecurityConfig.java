@@ -0,0 +1,84 @@
+package com.shubham.internship_backend.config;
+
+import com.shubham.internship_backend.security.CachingJwtDecoder;
+import com.shubham.internship_backend.security.SupabaseJwtConverter;
+import com.shubham.internship_backend.security.VerifiedTokenCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.ReactiveJwtAuthenticationConverterAdapter;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link SecurityConfig} for the reactive stack: same rules, same Supabase HS256 tokens and role mapping.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class ReactiveSecurityConfig {
+
+        @Value("${spring.security.secret}")
+        private String jwtSecret;
+
+        @Value("${app.jwt-cache.enabled:true}")
+        private boolean jwtCacheEnabled;
+
+        private final SupabaseJwtConverter supabaseJwtConverter;
+        private final VerifiedTokenCache verifiedTokenCache;
+
+        public ReactiveSecurityConfig(SupabaseJwtConverter supabaseJwtConverter,
+                        VerifiedTokenCache verifiedTokenCache) {
+                this.supabaseJwtConverter = supabaseJwtConverter;
+                this.verifiedTokenCache = verifiedTokenCache;
+        }
+
+        @Bean
+        public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+                http
+                                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                                .authorizeExchange(exchange -> exchange
+                                                // Probes
+                                                .pathMatchers("/actuator/health/**").permitAll()
+                                                // Metrics, scraped with an admin token
+                                                .pathMatchers("/actuator/prometheus", "/actuator/metrics/**")
+                                                .hasRole("ADMIN")
+                                                // Secured Endpoints
+                                                .anyExchange().authenticated())
+                                .oauth2ResourceServer(oauth2 -> oauth2
+                                                .jwt(jwt -> jwt
+                                                                .jwtDecoder(reactiveJwtDecoder())
+                                                                .jwtAuthenticationConverter(
+                                                                                new ReactiveJwtAuthenticationConverterAdapter(
+                                                                                                supabaseJwtConverter))));
+
+                return http.build();
+        }
+
+        @Bean
+        public ReactiveJwtDecoder reactiveJwtDecoder() {
+                SecretKey key = new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), "HMACSHA256");
+                JwtDecoder decoder = NimbusJwtDecoder.withSecretKey(key)
+                                .macAlgorithm(MacAlgorithm.HS256)
+                                .build();
+                JwtDecoder cachingDecoder = jwtCacheEnabled ? new CachingJwtDecoder(decoder, verifiedTokenCache)
+                                : decoder;
+                // HS256 verification is pure CPU work with a local key, so it is safe on the event loop
+                return token -> Mono.fromCallable(() -> cachingDecoder.decode(token));
+        }
+}
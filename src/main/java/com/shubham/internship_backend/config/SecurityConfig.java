@@ -1,7 +1,11 @@
 package com.shubham.internship_backend.config;
 
+import com.shubham.internship_backend.security.CachingJwtDecoder;
 import com.shubham.internship_backend.security.SupabaseJwtConverter;
+import com.shubham.internship_backend.security.VerifiedTokenCache;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -19,6 +23,7 @@ import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
 
 @Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @EnableWebSecurity
 @EnableMethodSecurity
 public class SecurityConfig {
@@ -26,10 +31,15 @@ public class SecurityConfig {
         @Value("${spring.security.secret}")
         private String jwtSecret;
 
+        @Value("${app.jwt-cache.enabled:true}")
+        private boolean jwtCacheEnabled;
+
         private final SupabaseJwtConverter supabaseJwtConverter;
+        private final VerifiedTokenCache verifiedTokenCache;
 
-        public SecurityConfig(SupabaseJwtConverter supabaseJwtConverter) {
+        public SecurityConfig(SupabaseJwtConverter supabaseJwtConverter, VerifiedTokenCache verifiedTokenCache) {
                 this.supabaseJwtConverter = supabaseJwtConverter;
+                this.verifiedTokenCache = verifiedTokenCache;
         }
 
         @Bean
@@ -39,6 +49,13 @@ public class SecurityConfig {
                                 .sessionManagement(session -> session
                                                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                                 .authorizeHttpRequests(auth -> auth
+                                                // Probes
+                                                .requestMatchers("/actuator/health/**").permitAll()
+                                                // Metrics, scraped with an admin token
+                                                .requestMatchers("/actuator/prometheus", "/actuator/metrics/**")
+                                                .hasRole("ADMIN")
+                                                // Completion of an already authorized SSE feed, which carries no token
+                                                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                                                 // Secured Endpoints
                                                 .anyRequest().authenticated())
                                 .oauth2ResourceServer(oauth2 -> oauth2
@@ -53,8 +70,9 @@ public class SecurityConfig {
         @Bean
         public JwtDecoder jwtDecoder() {
                 SecretKey key = new SecretKeySpec(jwtSecret.getBytes(StandardCharsets.UTF_8), "HMACSHA256");
-                return NimbusJwtDecoder.withSecretKey(key)
+                JwtDecoder decoder = NimbusJwtDecoder.withSecretKey(key)
                                 .macAlgorithm(MacAlgorithm.HS256)
                                 .build();
+                return jwtCacheEnabled ? new CachingJwtDecoder(decoder, verifiedTokenCache) : decoder;
         }
 }
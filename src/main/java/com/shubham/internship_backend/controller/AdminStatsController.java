@@ -0,0 +1,61 @@
+package com.shubham.internship_backend.controller;
+
+import com.shubham.internship_backend.dto.ApiResponse;
+import com.shubham.internship_backend.dto.BookingStats;
+import com.shubham.internship_backend.dto.HotelStats;
+import com.shubham.internship_backend.dto.StatsOverview;
+import com.shubham.internship_backend.service.BookingStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/stats")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@PreAuthorize("hasRole('ADMIN')")
+@RequiredArgsConstructor
+public class AdminStatsController {
+
+    private static final String FETCHED = "Stats fetched successfully";
+
+    private final BookingStatsService bookingStatsService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<StatsOverview>> getOverview() {
+        return ResponseEntity.ok(ApiResponse.success(FETCHED, bookingStatsService.getOverview()));
+    }
+
+    @GetMapping("/hotels/{hotelId}")
+    public ResponseEntity<ApiResponse<HotelStats>> getHotelStats(
+            @PathVariable String hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(ApiResponse.success(FETCHED, bookingStatsService.getHotelStats(hotelId, from, to)));
+    }
+
+    @GetMapping("/cities/{city}")
+    public ResponseEntity<ApiResponse<BookingStats>> getCityStats(@PathVariable String city) {
+        return ResponseEntity.ok(ApiResponse.success(FETCHED, bookingStatsService.getCityStats(city)));
+    }
+
+    @GetMapping("/staff")
+    public ResponseEntity<ApiResponse<List<BookingStats>>> getTopStaff(
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(ApiResponse.success(FETCHED, bookingStatsService.getTopStaff(limit)));
+    }
+
+    @GetMapping("/staff/{staffId}")
+    public ResponseEntity<ApiResponse<BookingStats>> getStaffStats(@PathVariable String staffId) {
+        return ResponseEntity.ok(ApiResponse.success(FETCHED, bookingStatsService.getStaffStats(staffId)));
+    }
+}
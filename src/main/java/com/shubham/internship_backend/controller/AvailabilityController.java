@@ -0,0 +1,34 @@
+package com.shubham.internship_backend.controller;
+
+import com.shubham.internship_backend.dto.ApiResponse;
+import com.shubham.internship_backend.model.Hotel;
+import com.shubham.internship_backend.service.AvailabilityService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/availability")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+public class AvailabilityController {
+
+    private final AvailabilityService availabilityService;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<List<Hotel>>> getAvailableHotels(
+            @RequestParam String city,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        List<Hotel> hotels = availabilityService.findAvailableHotels(city, from, to);
+        return ResponseEntity.ok(ApiResponse.success("Available hotels fetched successfully", hotels));
+    }
+}
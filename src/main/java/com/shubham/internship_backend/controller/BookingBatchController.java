@@ -0,0 +1,56 @@
+package com.shubham.internship_backend.controller;
+
+import com.shubham.internship_backend.dto.ApiResponse;
+import com.shubham.internship_backend.dto.BatchBookingRequest;
+import com.shubham.internship_backend.dto.BatchBookingResponse;
+import com.shubham.internship_backend.dto.MultiHotelBatchBookingRequest;
+import com.shubham.internship_backend.service.BookingBatchService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Slf4j
+public class BookingBatchController {
+
+    private final BookingBatchService bookingBatchService;
+
+    @PostMapping("/api/hotels/{hotelId}/bookings:batch")
+    @PreAuthorize("hasAnyRole('STAFF', 'RECEPTION')")
+    public ResponseEntity<ApiResponse<BatchBookingResponse>> createBookings(
+            @PathVariable String hotelId,
+            @Valid @RequestBody BatchBookingRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String userId = jwt.getSubject();
+        log.info("Received batch of {} bookings for hotel: {} from user: {}", request.getBookings().size(), hotelId,
+                userId);
+
+        BatchBookingResponse response = bookingBatchService.createBookings(hotelId, userId, request.getBookings());
+        return ResponseEntity.ok(ApiResponse.success("Batch processed", response));
+    }
+
+    @PostMapping("/api/bookings:batch")
+    @PreAuthorize("hasAnyRole('STAFF', 'RECEPTION')")
+    public ResponseEntity<ApiResponse<BatchBookingResponse>> createBookingsAcrossHotels(
+            @Valid @RequestBody MultiHotelBatchBookingRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String userId = jwt.getSubject();
+        log.info("Received multi-hotel batch of {} bookings from user: {}", request.getBookings().size(), userId);
+
+        BatchBookingResponse response = bookingBatchService.createBookings(userId, request.getBookings());
+        return ResponseEntity.ok(ApiResponse.success("Batch processed", response));
+    }
+}
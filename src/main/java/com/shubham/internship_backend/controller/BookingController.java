@@ -1,33 +1,141 @@
 package com.shubham.internship_backend.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.shubham.internship_backend.dto.ApiResponse;
+import com.shubham.internship_backend.dto.BookingPage;
 import com.shubham.internship_backend.dto.BookingRequest;
+import com.shubham.internship_backend.dto.BookingSummary;
+import com.shubham.internship_backend.exception.BadRequestException;
 import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.service.BookingFeed;
+import com.shubham.internship_backend.service.BookingIdempotency;
 import com.shubham.internship_backend.service.BookingService;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/hotels/{hotelId}/bookings")
-@RequiredArgsConstructor
-@Slf4j
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookingController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final String FETCHED = "Bookings fetched successfully";
+    private static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final BookingService bookingService;
+    private final BookingIdempotency bookingIdempotency;
+    private final BookingFeed bookingFeed;
+    private final ObjectMapper objectMapper;
+    private final boolean etagEnabled;
+    // Calendar views poll the summary list, so its writer is resolved once instead of per response
+    private final ObjectWriter summaryListWriter;
+
+    public BookingController(BookingService bookingService, BookingIdempotency bookingIdempotency,
+            BookingFeed bookingFeed, ObjectMapper objectMapper,
+            @Value("${app.http.etag.enabled:true}") boolean etagEnabled) {
+        this.bookingService = bookingService;
+        this.bookingIdempotency = bookingIdempotency;
+        this.bookingFeed = bookingFeed;
+        this.objectMapper = objectMapper;
+        this.etagEnabled = etagEnabled;
+        this.summaryListWriter = objectMapper.writerFor(new TypeReference<ApiResponse<List<BookingSummary>>>() {
+        });
+    }
 
     @GetMapping
-    public ResponseEntity<ApiResponse<List<Booking>>> getBookings(@PathVariable String hotelId) {
-        List<Booking> bookings = bookingService.getBookings(hotelId);
-        return ResponseEntity.ok(ApiResponse.success("Bookings fetched successfully", bookings));
+    public ResponseEntity<?> getBookings(
+            @PathVariable String hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "full") String view,
+            WebRequest webRequest) throws JsonProcessingException {
+
+        boolean summary = isSummary(view);
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (from == null && to == null && limit == null && after == null) {
+            // Read before the calendar: a write in between costs one extra download, never a stale 304
+            if (etagEnabled && webRequest.checkNotModified(bookingFeed.etag(hotelId, summary))) {
+                return null;
+            }
+            if (summary) {
+                byte[] body = summaryListWriter.writeValueAsBytes(
+                        ApiResponse.success(FETCHED, bookingService.getBookingSummaries(hotelId)));
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+            }
+            List<Booking> bookings = bookingService.getBookings(hotelId);
+            return ResponseEntity.ok(ApiResponse.success(FETCHED, bookings));
+        }
+
+        BookingPage<?> page = summary
+                ? bookingService.getBookingSummaryPage(hotelId, from, to, after, pageSize)
+                : bookingService.getBookingPage(hotelId, from, to, after, pageSize);
+        return ResponseEntity.ok(ApiResponse.success(FETCHED, page));
+    }
+
+    /**
+     * Booking changes of the hotel as server-sent events. Starts with {@code reset} unless {@code Last-Event-ID}
+     * can be resumed from; on {@code reset} the client fetches the list and applies the events after it in order.
+     */
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter feed(
+            @PathVariable String hotelId,
+            @RequestParam(defaultValue = "full") String view,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return bookingFeed.subscribe(hotelId, isSummary(view), lastEventId);
+    }
+
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @PathVariable String hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+
+        Stream<Booking> bookings = bookingService.streamBookings(hotelId, from, to);
+        ObjectWriter writer = objectMapper.writerFor(Booking.class);
+
+        StreamingResponseBody body = out -> {
+            try (bookings) {
+                Iterator<Booking> iterator = bookings.iterator();
+                while (iterator.hasNext()) {
+                    out.write(writer.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                }
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    private static boolean isSummary(String view) {
+        if ("summary".equalsIgnoreCase(view)) {
+            return true;
+        }
+        if ("full".equalsIgnoreCase(view)) {
+            return false;
+        }
+        throw new BadRequestException("view must be 'full' or 'summary'");
     }
 
     @PostMapping
@@ -35,12 +143,21 @@ public class BookingController {
     public ResponseEntity<ApiResponse<Booking>> createBooking(
             @PathVariable String hotelId,
             @Valid @RequestBody BookingRequest request,
+            @RequestHeader(value = BookingIdempotency.HEADER, required = false) String idempotencyKey,
             @AuthenticationPrincipal Jwt jwt) {
 
         String userId = jwt.getSubject(); // Use sub from Supabase JWT as userId
-        log.info("Received booking request for hotel: {} from user: {}", hotelId, userId);
 
-        Booking booking = bookingService.createBooking(hotelId, userId, request);
-        return new ResponseEntity<>(ApiResponse.success("Booking created successfully", booking), HttpStatus.CREATED);
+        if (idempotencyKey == null) {
+            Booking booking = bookingService.createBooking(hotelId, userId, request);
+            return new ResponseEntity<>(ApiResponse.success("Booking created successfully", booking),
+                    HttpStatus.CREATED);
+        }
+
+        BookingIdempotency.Outcome outcome = bookingIdempotency.execute(userId, idempotencyKey, hotelId, request,
+                () -> bookingService.createBooking(hotelId, userId, request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED, String.valueOf(outcome.replayed()))
+                .body(ApiResponse.success("Booking created successfully", outcome.booking()));
     }
 }
@@ -0,0 +1,88 @@
+package com.shubham.internship_backend.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shubham.internship_backend.dto.HotelImportError;
+import com.shubham.internship_backend.dto.HotelImportSummary;
+import com.shubham.internship_backend.exception.BadRequestException;
+import com.shubham.internship_backend.service.HotelImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Bulk hotel onboarding. The upload is read while the response streams one NDJSON line per rejected row
+ * ({@code {"error": ...}}), one per written chunk ({@code {"progress": ...}}) and a final {@code {"done": ...}}.
+ */
+@RestController
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Slf4j
+public class HotelImportController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final HotelImportService hotelImportService;
+    private final ObjectMapper objectMapper;
+
+    @PostMapping(value = "/api/hotels:import", consumes = { CSV, NDJSON }, produces = NDJSON)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importHotels(HttpServletRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        HotelImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType(CSV))
+                        ? HotelImportService.Format.CSV
+                        : HotelImportService.Format.NDJSON;
+        String userId = jwt.getSubject();
+        log.info("📥 Hotel import ({}) started by user: {}", format, userId);
+
+        StreamingResponseBody body = out -> {
+            HotelImportSummary summary;
+            try {
+                summary = hotelImportService.importHotels(request.getInputStream(), format,
+                        HotelImportService.Mode.UPSERT, new HotelImportService.Listener() {
+                            @Override
+                            public void onError(HotelImportError error) {
+                                write(out, "error", error);
+                            }
+
+                            @Override
+                            public void onProgress(HotelImportSummary progress) {
+                                write(out, "progress", progress);
+                            }
+                        });
+            } catch (BadRequestException e) {
+                write(out, "error", new HotelImportError(1, null, e.getMessage()));
+                return;
+            }
+            write(out, "done", summary);
+            log.info("✅ Hotel import by {} finished: {}", userId, summary);
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    private void write(OutputStream out, String type, Object event) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(Map.of(type, event)));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
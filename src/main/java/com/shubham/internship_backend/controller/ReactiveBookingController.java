@@ -0,0 +1,72 @@
+package com.shubham.internship_backend.controller;
+
+import com.shubham.internship_backend.dto.ApiResponse;
+import com.shubham.internship_backend.dto.BookingRequest;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.service.ReactiveBookingService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+/**
+ * WebFlux twin of {@link BookingController}, active when the application runs as a reactive web app.
+ * Paths, request bodies and response shapes are identical.
+ */
+@RestController
+@RequestMapping("/api/hotels/{hotelId}/bookings")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+public class ReactiveBookingController {
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+
+    private final ReactiveBookingService bookingService;
+
+    @GetMapping
+    public Mono<ResponseEntity<ApiResponse<?>>> getBookings(
+            @PathVariable String hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+
+        Mono<?> data = from == null && to == null && limit == null && after == null
+                ? bookingService.getBookings(hotelId)
+                : bookingService.getBookingPage(hotelId, from, to, after, limit != null ? limit : DEFAULT_PAGE_SIZE);
+        return data.map(bookings -> ResponseEntity.ok(ApiResponse.success("Bookings fetched successfully", bookings)));
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Booking> exportBookings(
+            @PathVariable String hotelId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return bookingService.streamBookings(hotelId, from, to);
+    }
+
+    @PostMapping
+    @PreAuthorize("hasAnyRole('STAFF', 'RECEPTION')")
+    public Mono<ResponseEntity<ApiResponse<Booking>>> createBooking(
+            @PathVariable String hotelId,
+            @Valid @RequestBody BookingRequest request,
+            @AuthenticationPrincipal Jwt jwt) {
+
+        String userId = jwt.getSubject(); // Use sub from Supabase JWT as userId
+
+        return bookingService.createBooking(hotelId, userId, request)
+                .map(booking -> new ResponseEntity<>(ApiResponse.success("Booking created successfully", booking),
+                        HttpStatus.CREATED));
+    }
+}
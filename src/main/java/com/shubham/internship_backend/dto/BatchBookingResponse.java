@@ -0,0 +1,23 @@
+package com.shubham.internship_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchBookingResponse {
+    private int created;
+    private int rejected;
+    private List<BatchItemResult> results;
+
+    public static BatchBookingResponse of(List<BatchItemResult> results) {
+        int created = (int) results.stream()
+                .filter(result -> result.getStatus() == BatchItemResult.Status.CREATED)
+                .count();
+        return new BatchBookingResponse(created, results.size() - created, results);
+    }
+}
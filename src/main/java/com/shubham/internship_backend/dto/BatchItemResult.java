@@ -0,0 +1,32 @@
+package com.shubham.internship_backend.dto;
+
+import com.shubham.internship_backend.model.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchItemResult {
+
+    public enum Status {
+        CREATED, CONFLICT, BAD_REQUEST, NOT_FOUND,
+        FAILED // the hotel's bookings could not be written; safe to retry
+    }
+
+    private int index; // position in the request
+    private String hotelId;
+    private Status status;
+    private String message;
+    private Booking booking; // only set when created
+
+    public static BatchItemResult created(int index, Booking booking) {
+        return new BatchItemResult(index, booking.getHotelId(), Status.CREATED, "Booking created successfully",
+                booking);
+    }
+
+    public static BatchItemResult rejected(int index, String hotelId, Status status, String message) {
+        return new BatchItemResult(index, hotelId, status, message, null);
+    }
+}
@@ -0,0 +1,47 @@
+package com.shubham.internship_backend.dto;
+
+import com.shubham.internship_backend.exception.BadRequestException;
+import com.shubham.internship_backend.model.Booking;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+
+/**
+ * Opaque keyset position in a hotel's booking list, ordered by {@code (startDate, id)}.
+ */
+public record BookingCursor(LocalDate startDate, String id) {
+
+    public static final Comparator<BookingCursor> ORDER = Comparator
+            .comparing(BookingCursor::startDate)
+            .thenComparing(BookingCursor::id);
+
+    public static BookingCursor of(Booking booking) {
+        return new BookingCursor(booking.getStartDate(), booking.getId());
+    }
+
+    public static BookingCursor of(BookingSummary booking) {
+        return new BookingCursor(booking.startDate(), booking.id());
+    }
+
+    public static BookingCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf('|');
+            if (separator < 0) {
+                throw new BadRequestException("Invalid cursor: " + value);
+            }
+            return new BookingCursor(LocalDate.parse(decoded.substring(0, separator)),
+                    decoded.substring(separator + 1));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + value);
+        }
+    }
+
+    public String encode() {
+        String raw = startDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
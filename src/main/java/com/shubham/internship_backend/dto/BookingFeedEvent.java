@@ -0,0 +1,8 @@
+package com.shubham.internship_backend.dto;
+
+/**
+ * Data of one event on a hotel's booking feed. {@code booking} is a {@link BookingSummary} for
+ * {@code view=summary}; it is null on {@code reset}, which tells the client to fetch the list again.
+ */
+public record BookingFeedEvent(String type, Object booking) {
+}
@@ -0,0 +1,15 @@
+package com.shubham.internship_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookingPage<T> {
+    private List<T> items; // Booking, or BookingSummary for view=summary
+    private String nextCursor; // null on the last page
+}
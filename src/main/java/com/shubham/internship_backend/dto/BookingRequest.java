@@ -21,4 +21,7 @@ public class BookingRequest {
 
     @NotNull(message = "End date is required")
     private LocalDate endDate;
+
+    // Required when the hotel has more than one room type
+    private String roomType;
 }
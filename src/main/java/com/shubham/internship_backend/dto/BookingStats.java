@@ -0,0 +1,35 @@
+package com.shubham.internship_backend.dto;
+
+import com.shubham.internship_backend.model.BookingRollup;
+
+import java.util.Map;
+
+/**
+ * Booking counters of one hotel, city or staff member, read from the rollups.
+ */
+public record BookingStats(
+        String hotelId,
+        String city,
+        String staffId,
+        long bookings,
+        long nights,
+        LeadTime leadTime) {
+
+    /**
+     * Days from booking to arrival, over the bookings whose creation time is known.
+     */
+    public record LeadTime(long bookings, Double meanDays, Integer minDays, Integer maxDays,
+            Map<String, Long> histogram) {
+    }
+
+    public static BookingStats of(BookingRollup rollup) {
+        long counted = rollup.getLeadTimeCount();
+        LeadTime leadTime = new LeadTime(counted,
+                counted == 0 ? null : (double) rollup.getLeadTimeDaysSum() / counted,
+                rollup.getLeadTimeDaysMin(),
+                rollup.getLeadTimeDaysMax(),
+                rollup.getLeadTimeDays() != null ? rollup.getLeadTimeDays() : Map.of());
+        return new BookingStats(rollup.getHotelId(), rollup.getCity(), rollup.getStaffId(), rollup.getBookings(),
+                rollup.getNights(), leadTime);
+    }
+}
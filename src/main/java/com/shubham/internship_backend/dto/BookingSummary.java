@@ -0,0 +1,16 @@
+package com.shubham.internship_backend.dto;
+
+import com.shubham.internship_backend.model.Booking;
+
+import java.time.LocalDate;
+
+/**
+ * What a calendar view needs of a booking. Returned for {@code view=summary}.
+ */
+public record BookingSummary(String id, LocalDate startDate, LocalDate endDate, String guestName) {
+
+    public static BookingSummary of(Booking booking) {
+        return new BookingSummary(booking.getId(), booking.getStartDate(), booking.getEndDate(),
+                booking.getGuestName());
+    }
+}
@@ -0,0 +1,15 @@
+package com.shubham.internship_backend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Booking item of a multi-hotel batch, carrying its own hotel.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class HotelBookingRequest extends BookingRequest {
+    @NotBlank(message = "Hotel ID is required")
+    private String hotelId;
+}
@@ -0,0 +1,7 @@
+package com.shubham.internship_backend.dto;
+
+/**
+ * A rejected import row. {@code line} is the 1-based line in the upload (the CSV header is line 1).
+ */
+public record HotelImportError(long line, String hotelId, String message) {
+}
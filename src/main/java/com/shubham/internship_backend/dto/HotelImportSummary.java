@@ -0,0 +1,7 @@
+package com.shubham.internship_backend.dto;
+
+/**
+ * Running totals of a hotel import; {@code processed} counts every data row, including failed ones.
+ */
+public record HotelImportSummary(long processed, long inserted, long updated, long failed) {
+}
@@ -0,0 +1,20 @@
+package com.shubham.internship_backend.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * A hotel's booking counters and its occupancy over {@code [from, to)}. {@code nights} lists booked nights only.
+ */
+public record HotelStats(
+        BookingStats totals,
+        LocalDate from,
+        LocalDate to,
+        int rooms,
+        long roomNightsBooked,
+        double occupancyRate,
+        List<Night> nights) {
+
+    public record Night(LocalDate night, long roomsBooked, double occupancyRate) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.shubham.internship_backend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class MultiHotelBatchBookingRequest {
+    @NotEmpty(message = "At least one booking is required")
+    @Size(max = 500, message = "A batch may contain at most 500 bookings")
+    private List<@Valid HotelBookingRequest> bookings;
+}
@@ -0,0 +1,14 @@
+package com.shubham.internship_backend.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Booking counters per city and of the busiest staff members, with the progress of the rollup backfill.
+ * Until the backfill has completed, bookings from before {@code liveSince} are only partly counted.
+ */
+public record StatsOverview(Backfill backfill, List<BookingStats> cities, List<BookingStats> topStaff) {
+
+    public record Backfill(Instant liveSince, String source, long counted, Instant completedAt) {
+    }
+}
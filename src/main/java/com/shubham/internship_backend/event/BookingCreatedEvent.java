@@ -0,0 +1,10 @@
+package com.shubham.internship_backend.event;
+
+import com.shubham.internship_backend.model.Booking;
+
+/**
+ * Published after a booking is persisted and added to the calendar index.
+ * Listeners keep derived read models (occupancy, counters, feeds) in step.
+ */
+public record BookingCreatedEvent(Booking booking) {
+}
@@ -0,0 +1,10 @@
+package com.shubham.internship_backend.event;
+
+import com.shubham.internship_backend.model.Booking;
+
+/**
+ * A booking taken out of the calendar index on this instance without a replicated delete:
+ * archived here, or queued by write-behind and then never written.
+ */
+public record BookingRemovedEvent(Booking booking) {
+}
@@ -0,0 +1,10 @@
+package com.shubham.internship_backend.event;
+
+import com.shubham.internship_backend.model.Booking;
+
+/**
+ * A booking change read from the change stream that moved nights in the calendar index,
+ * whichever instance wrote it. {@code previous} is null for inserts, {@code current} for deletes.
+ */
+public record BookingReplicatedEvent(Booking previous, Booking current) {
+}
@@ -0,0 +1,8 @@
+package com.shubham.internship_backend.event;
+
+/**
+ * The change stream could not be resumed and the calendar index was reloaded from scratch.
+ * Anything derived from it must be rebuilt.
+ */
+public record BookingsResyncedEvent() {
+}
@@ -1,7 +1,11 @@
 package com.shubham.internship_backend.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -12,12 +16,17 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import java.util.stream.Collectors;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 @RestControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
 @Slf4j
 public class GlobalExceptionHandler {
 
+    private final MeterRegistry meterRegistry;
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException ex,
             HttpServletRequest request) {
@@ -61,6 +70,22 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.NOT_FOUND, "Not Found", ex.getMessage(), request.getRequestURI());
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleServiceUnavailableException(ServiceUnavailableException ex,
+            HttpServletRequest request) {
+        log.warn("Service Unavailable: {}", ex.getMessage());
+        return withRetryAfter(buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable",
+                ex.getMessage(), request.getRequestURI()), ex.getRetryAfter());
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ErrorResponse> handleTooManyRequestsException(TooManyRequestsException ex,
+            HttpServletRequest request) {
+        log.debug("Too Many Requests: {}", ex.getMessage());
+        return withRetryAfter(buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests",
+                ex.getMessage(), request.getRequestURI()), ex.getRetryAfter());
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGlobalException(Exception ex, HttpServletRequest request) {
         log.error("Internal Server Error: ", ex);
@@ -68,8 +93,18 @@ public class GlobalExceptionHandler {
                 request.getRequestURI());
     }
 
+    // Retry-After is in whole seconds, so round up rather than invite an immediate retry
+    private static ResponseEntity<ErrorResponse> withRetryAfter(ResponseEntity<ErrorResponse> response,
+            Duration retryAfter) {
+        long seconds = Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+        return ResponseEntity.status(response.getStatusCode())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+                .body(response.getBody());
+    }
+
     private ResponseEntity<ErrorResponse> buildErrorResponse(HttpStatus status, String error, String message,
             String path) {
+        meterRegistry.counter("http.errors", "status", String.valueOf(status.value()), "error", error).increment();
         ErrorResponse errorResponse = new ErrorResponse(
                 LocalDateTime.now(),
                 status.value(),
@@ -0,0 +1,19 @@
+package com.shubham.internship_backend.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+}
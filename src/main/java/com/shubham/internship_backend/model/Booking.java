@@ -6,6 +6,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -17,8 +18,13 @@ import java.time.LocalDate;
 @NoArgsConstructor
 @AllArgsConstructor
 @CompoundIndex(name = "hotel_date_idx", def = "{'hotelId': 1, 'startDate': 1, 'endDate': 1}")
+// Matches the keyset order of paged reads, so a page is read in index order without an in-memory sort
+@CompoundIndex(name = "hotel_start_id_idx", def = "{'hotelId': 1, 'startDate': 1, '_id': 1}")
 public class Booking {
 
+    // Bookings that ended before app.archive.horizon are moved here by BookingArchiver
+    public static final String ARCHIVE_COLLECTION = "bookings_archive";
+
     @Id
     private String id;
 
@@ -30,8 +36,11 @@ public class Booking {
     private String guestName;
     private String guestEmail;
 
+    private String roomType; // null for hotels without room types
+
     private LocalDate startDate;
 
+    @Indexed(name = "end_date_idx") // lets the archiver find old bookings without a collection scan
     private LocalDate endDate;
 
     private Instant createdAt;
@@ -0,0 +1,43 @@
+package com.shubham.internship_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Rooms of one type taken on one night of a hotel. The id is derived from hotel, room type and night,
+ * and {@code count} is only ever raised while it is below the room type's capacity, so instances
+ * cannot admit more bookings for a night than there are rooms.
+ */
+@Document(collection = "booking_nights")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingNight {
+
+    @Id
+    private String id; // hotelId|yyyy-MM-dd, or hotelId|roomType|yyyy-MM-dd for hotels with room types
+
+    private String hotelId;
+
+    private String roomType;
+
+    private LocalDate night;
+
+    private int count;
+
+    @Indexed
+    private List<String> bookingIds; // bookings holding one of the rooms, so a claim can be released
+
+    public static String idOf(String hotelId, String roomType, LocalDate night) {
+        return roomType == null ? hotelId + "|" + night : hotelId + "|" + roomType + "|" + night;
+    }
+}
@@ -0,0 +1,67 @@
+package com.shubham.internship_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Pre-aggregated booking counters, one document per hotel, city, staff member and booked hotel night.
+ * Kept up to date with {@code $inc} as bookings are created, so statistics never scan {@code bookings}.
+ */
+@Document(collection = BookingRollup.COLLECTION)
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingRollup {
+
+    public static final String COLLECTION = "booking_rollups";
+
+    public enum Kind {
+        HOTEL, CITY, STAFF, NIGHT
+    }
+
+    @Id
+    private String id; // e.g. "hotel:HOTEL_001", "night:HOTEL_001:2025-02-10"
+
+    private Kind kind;
+    private String hotelId;
+    private String city;
+    private String staffId;
+    private LocalDate night;
+
+    private long bookings; // for a night: rooms taken that night
+    private long nights;
+
+    // Lead time is the days from booking to arrival
+    private long leadTimeCount;
+    private long leadTimeDaysSum;
+    private Integer leadTimeDaysMin;
+    private Integer leadTimeDaysMax;
+    private Map<String, Long> leadTimeDays; // bucket such as "8-14" -> bookings
+
+    private Map<String, String> backfilledThrough; // source collection -> last booking id counted by the backfill
+
+    public static String hotelKey(String hotelId) {
+        return "hotel:" + hotelId;
+    }
+
+    public static String cityKey(String city) {
+        return "city:" + city.toLowerCase(Locale.ROOT);
+    }
+
+    public static String staffKey(String staffId) {
+        return "staff:" + staffId;
+    }
+
+    public static String nightKey(String hotelId, LocalDate night) {
+        return "night:" + hotelId + ":" + night;
+    }
+}
@@ -0,0 +1,37 @@
+package com.shubham.internship_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Progress of the rollup backfill. Bookings created from {@code liveSince} on are counted as they are written,
+ * older ones by the backfill, which walks each source collection in {@code _id} order.
+ */
+@Document(collection = "booking_rollup_state")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingRollupState {
+
+    public static final String ID = "bookings";
+
+    @Id
+    private String id;
+
+    private Instant liveSince;
+
+    private String source; // collection being backfilled, null once done
+    private String lastId; // last booking of source already counted
+    private long counted;
+    private Instant completedAt;
+
+    private String leaseOwner;
+    private Instant leaseUntil; // another instance takes over a backfill whose lease ran out
+}
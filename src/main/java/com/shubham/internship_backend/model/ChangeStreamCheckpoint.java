@@ -0,0 +1,27 @@
+package com.shubham.internship_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document(collection = "change_stream_checkpoints")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeStreamCheckpoint {
+
+    @Id
+    private String id; // consumer id, one per instance
+
+    private String resumeToken; // JSON of the change stream resume token
+
+    @Indexed(expireAfter = "7d") // checkpoints of instances that are gone
+    private Instant updatedAt;
+}
@@ -0,0 +1,48 @@
+package com.shubham.internship_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+@Document(collection = "email_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@CompoundIndex(name = "outbox_due_idx", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class EmailOutboxMessage {
+
+    public enum Status {
+        PENDING, SENDING, SENT, FAILED
+    }
+
+    @Id
+    private String id;
+
+    private String recipient;
+    private String subject;
+    private String body;
+
+    // Queued before the bookings are written: sent once one of them exists, dropped if none ever does
+    private List<String> bookingIds;
+
+    private Status status;
+    private int attempts;
+    private Instant nextAttemptAt;
+    private Instant leaseUntil; // a SENDING message whose lease ran out is picked up again
+    private String claimToken;
+    private String lastError;
+
+    private Instant createdAt;
+
+    @Indexed(expireAfter = "7d") // delivered messages are purged after a week
+    private Instant sentAt;
+}
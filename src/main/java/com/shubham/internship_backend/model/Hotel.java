@@ -7,6 +7,8 @@ import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.util.Map;
+
 @Document(collection = "hotels")
 @Data
 @Builder
@@ -18,4 +20,5 @@ public class Hotel {
     private String name;
     private String city;
     private String status;
+    private Map<String, Integer> roomTypes; // room type code -> number of rooms; none means a single room
 }
@@ -0,0 +1,29 @@
+package com.shubham.internship_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+@Document(collection = "idempotency_keys")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    @Id
+    private String id; // "<sub>:<Idempotency-Key>", so keys of different callers never collide
+
+    private String fingerprint; // hotel and request body the key was first used with
+
+    private Booking booking; // the booking returned by the original request, null while it is still running
+
+    @Indexed(expireAfter = "24h") // clients stop retrying long before this
+    private Instant createdAt;
+}
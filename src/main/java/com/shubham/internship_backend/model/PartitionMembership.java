@@ -0,0 +1,34 @@
+package com.shubham.internship_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Members that hotels are partitioned across. Every change raises {@code version}; a hotel that changed owner is
+ * admitted by its new owner once every old and new member has handed over, or after the handover timeout.
+ */
+@Document(collection = "partition_membership")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PartitionMembership {
+
+    public static final String ID = "hotels";
+
+    @Id
+    private String id;
+
+    private long version;
+    private List<String> members; // base URLs, as members reach each other
+    private List<String> previousMembers;
+    private List<String> handedOver; // members that no longer admit writes for hotels they lost in this version
+    private Instant changedAt;
+}
@@ -0,0 +1,85 @@
+package com.shubham.internship_backend.observability;
+
+import com.shubham.internship_backend.exception.BadRequestException;
+import com.shubham.internship_backend.exception.ConflictException;
+import com.shubham.internship_backend.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Timers for booking operations ({@code booking.operation}, tagged with the outcome) and
+ * for each stage inside them ({@code booking.stage}), e.g. hotel lookup, conflict check or save.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingMetrics {
+
+    public static final String CREATE = "create";
+    public static final String LIST = "list";
+    public static final String PAGE = "page";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Timer> operationTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+
+    public <T> T operation(String operation, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return work.get();
+        } catch (RuntimeException e) {
+            outcome = outcomeOf(e);
+            throw e;
+        } finally {
+            sample.stop(operationTimer(operation, outcome));
+        }
+    }
+
+    public <T> T stage(String operation, String stage, Supplier<T> work) {
+        return stageTimer(operation, stage).record(work);
+    }
+
+    public void stage(String operation, String stage, Runnable work) {
+        stageTimer(operation, stage).record(work);
+    }
+
+    public void batchItem(String status) {
+        meterRegistry.counter("booking.batch.items", "status", status).increment();
+    }
+
+    private Timer operationTimer(String operation, String outcome) {
+        return operationTimers.computeIfAbsent(operation + '.' + outcome, key -> Timer.builder("booking.operation")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private Timer stageTimer(String operation, String stage) {
+        return stageTimers.computeIfAbsent(operation + '.' + stage, key -> Timer.builder("booking.stage")
+                .tag("operation", operation)
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    private static String outcomeOf(RuntimeException e) {
+        if (e instanceof ConflictException) {
+            return "conflict";
+        }
+        if (e instanceof ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (e instanceof BadRequestException) {
+            return "bad_request";
+        }
+        return "error";
+    }
+}
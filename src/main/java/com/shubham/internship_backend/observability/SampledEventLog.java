@@ -0,0 +1,36 @@
+package com.shubham.internship_backend.observability;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hot-path logging: one {@code event=name key=value ...} line for a sampled fraction of calls,
+ * written to the {@code booking.events} logger. Metrics carry the full counts; this is for spotting
+ * examples, so errors should still be logged normally.
+ */
+@Component
+public class SampledEventLog {
+
+    private static final Logger log = LoggerFactory.getLogger("booking.events");
+
+    private final double sampleRate;
+
+    public SampledEventLog(@Value("${app.logging.event-sample-rate:0.01}") double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public void event(String name, Object... keyValues) {
+        if (!log.isInfoEnabled() || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        StringBuilder line = new StringBuilder("event=").append(name);
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            line.append(' ').append(keyValues[i]).append('=').append(keyValues[i + 1]);
+        }
+        log.info(line.toString());
+    }
+}
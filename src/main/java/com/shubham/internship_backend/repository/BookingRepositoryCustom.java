@@ -0,0 +1,46 @@
+package com.shubham.internship_backend.repository;
+
+import com.shubham.internship_backend.dto.BookingCursor;
+import com.shubham.internship_backend.dto.BookingSummary;
+import com.shubham.internship_backend.model.Booking;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * Bookings of a hotel overlapping {@code [from, to)}, ordered by {@code (startDate, id)} and
+     * starting strictly after {@code after}. Any of {@code from}, {@code to} and {@code after} may be null.
+     */
+    List<Booking> findPage(String hotelId, LocalDate from, LocalDate to, BookingCursor after, int limit);
+
+    /**
+     * {@link #findPage} reading only the fields of {@link BookingSummary}.
+     */
+    List<BookingSummary> findSummaryPage(String hotelId, LocalDate from, LocalDate to, BookingCursor after,
+            int limit);
+
+    /**
+     * Same filter and order as {@link #findPage}, backed by a server-side cursor.
+     * The caller must close the stream.
+     */
+    Stream<Booking> streamBookings(String hotelId, LocalDate from, LocalDate to);
+
+    /**
+     * {@link #findPage} over archived bookings.
+     */
+    List<Booking> findArchivedPage(String hotelId, LocalDate from, LocalDate to, BookingCursor after, int limit);
+
+    /**
+     * {@link #findSummaryPage} over archived bookings.
+     */
+    List<BookingSummary> findArchivedSummaryPage(String hotelId, LocalDate from, LocalDate to, BookingCursor after,
+            int limit);
+
+    /**
+     * {@link #streamBookings} over archived bookings.
+     */
+    Stream<Booking> streamArchivedBookings(String hotelId, LocalDate from, LocalDate to);
+}
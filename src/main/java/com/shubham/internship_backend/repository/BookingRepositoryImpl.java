@@ -0,0 +1,90 @@
+package com.shubham.internship_backend.repository;
+
+import com.shubham.internship_backend.dto.BookingCursor;
+import com.shubham.internship_backend.dto.BookingSummary;
+import com.shubham.internship_backend.model.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    // Served by hotel_start_id_idx, in bookings and in the archive
+    private static final Sort KEYSET_ORDER = Sort.by("startDate", "id");
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public List<Booking> findPage(String hotelId, LocalDate from, LocalDate to, BookingCursor after, int limit) {
+        return mongoTemplate.find(pageQuery(hotelId, from, to, after, limit), Booking.class);
+    }
+
+    @Override
+    public List<BookingSummary> findSummaryPage(String hotelId, LocalDate from, LocalDate to, BookingCursor after,
+            int limit) {
+        Query query = pageQuery(hotelId, from, to, after, limit);
+        query.fields().include("startDate", "endDate", "guestName");
+        return mongoTemplate.query(Booking.class).as(BookingSummary.class).matching(query).all();
+    }
+
+    @Override
+    public Stream<Booking> streamBookings(String hotelId, LocalDate from, LocalDate to) {
+        return mongoTemplate.stream(windowQuery(hotelId, from, to), Booking.class);
+    }
+
+    @Override
+    public List<Booking> findArchivedPage(String hotelId, LocalDate from, LocalDate to, BookingCursor after,
+            int limit) {
+        return mongoTemplate.find(pageQuery(hotelId, from, to, after, limit), Booking.class,
+                Booking.ARCHIVE_COLLECTION);
+    }
+
+    @Override
+    public List<BookingSummary> findArchivedSummaryPage(String hotelId, LocalDate from, LocalDate to,
+            BookingCursor after, int limit) {
+        Query query = pageQuery(hotelId, from, to, after, limit);
+        query.fields().include("startDate", "endDate", "guestName");
+        return mongoTemplate.query(Booking.class).inCollection(Booking.ARCHIVE_COLLECTION).as(BookingSummary.class)
+                .matching(query).all();
+    }
+
+    @Override
+    public Stream<Booking> streamArchivedBookings(String hotelId, LocalDate from, LocalDate to) {
+        return mongoTemplate.stream(windowQuery(hotelId, from, to), Booking.class, Booking.ARCHIVE_COLLECTION);
+    }
+
+    static Query pageQuery(String hotelId, LocalDate from, LocalDate to, BookingCursor after, int limit) {
+        List<Criteria> filters = windowFilters(hotelId, from, to);
+        if (after != null) {
+            filters.add(new Criteria().orOperator(
+                    Criteria.where("startDate").gt(after.startDate()),
+                    Criteria.where("startDate").is(after.startDate()).and("id").gt(after.id())));
+        }
+        return new Query(new Criteria().andOperator(filters)).with(KEYSET_ORDER).limit(limit);
+    }
+
+    static Query windowQuery(String hotelId, LocalDate from, LocalDate to) {
+        return new Query(new Criteria().andOperator(windowFilters(hotelId, from, to))).with(KEYSET_ORDER);
+    }
+
+    // Prefix of hotel_date_idx: equality on hotelId, then a range on startDate
+    private static List<Criteria> windowFilters(String hotelId, LocalDate from, LocalDate to) {
+        List<Criteria> filters = new ArrayList<>();
+        filters.add(Criteria.where("hotelId").is(hotelId));
+        if (to != null) {
+            filters.add(Criteria.where("startDate").lt(to));
+        }
+        if (from != null) {
+            filters.add(Criteria.where("endDate").gt(from));
+        }
+        return filters;
+    }
+}
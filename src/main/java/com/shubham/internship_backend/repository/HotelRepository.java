@@ -4,6 +4,10 @@ import com.shubham.internship_backend.model.Hotel;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface HotelRepository extends MongoRepository<Hotel, String> {
+
+    List<Hotel> findByCityIgnoreCaseAndStatus(String city, String status);
 }
@@ -0,0 +1,16 @@
+package com.shubham.internship_backend.repository;
+
+import com.shubham.internship_backend.model.Booking;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * Non-blocking counterpart of {@link BookingRepository}, used by the reactive profile.
+ */
+@Repository
+public interface ReactiveBookingRepository
+        extends ReactiveMongoRepository<Booking, String>, ReactiveBookingRepositoryCustom {
+
+    Flux<Booking> findByHotelIdOrderByStartDateAsc(String hotelId);
+}
@@ -0,0 +1,17 @@
+package com.shubham.internship_backend.repository;
+
+import com.shubham.internship_backend.dto.BookingCursor;
+import com.shubham.internship_backend.model.Booking;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+public interface ReactiveBookingRepositoryCustom {
+
+    /**
+     * Same keyset page as {@link BookingRepositoryCustom#findPage}.
+     */
+    Flux<Booking> findPage(String hotelId, LocalDate from, LocalDate to, BookingCursor after, int limit);
+
+    Flux<Booking> streamBookings(String hotelId, LocalDate from, LocalDate to);
+}
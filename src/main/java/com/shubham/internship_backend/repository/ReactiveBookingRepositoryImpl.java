@@ -0,0 +1,26 @@
+package com.shubham.internship_backend.repository;
+
+import com.shubham.internship_backend.dto.BookingCursor;
+import com.shubham.internship_backend.model.Booking;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+@RequiredArgsConstructor
+class ReactiveBookingRepositoryImpl implements ReactiveBookingRepositoryCustom {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    @Override
+    public Flux<Booking> findPage(String hotelId, LocalDate from, LocalDate to, BookingCursor after, int limit) {
+        return reactiveMongoTemplate.find(BookingRepositoryImpl.pageQuery(hotelId, from, to, after, limit),
+                Booking.class);
+    }
+
+    @Override
+    public Flux<Booking> streamBookings(String hotelId, LocalDate from, LocalDate to) {
+        return reactiveMongoTemplate.find(BookingRepositoryImpl.windowQuery(hotelId, from, to), Booking.class);
+    }
+}
@@ -0,0 +1,9 @@
+package com.shubham.internship_backend.repository;
+
+import com.shubham.internship_backend.model.Hotel;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReactiveHotelRepository extends ReactiveMongoRepository<Hotel, String> {
+}
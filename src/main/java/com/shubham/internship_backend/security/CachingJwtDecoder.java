@@ -0,0 +1,22 @@
+package com.shubham.internship_backend.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.jwt.JwtException;
+
+/**
+ * {@link JwtDecoder} that only verifies tokens it has not already verified, see {@link VerifiedTokenCache}.
+ * Invalid tokens are never cached.
+ */
+@RequiredArgsConstructor
+public class CachingJwtDecoder implements JwtDecoder {
+
+    private final JwtDecoder delegate;
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    @Override
+    public Jwt decode(String token) throws JwtException {
+        return verifiedTokenCache.decode(token, delegate);
+    }
+}
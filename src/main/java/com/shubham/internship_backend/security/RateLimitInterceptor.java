@@ -0,0 +1,81 @@
+package com.shubham.internship_backend.security;
+
+import com.shubham.internship_backend.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Rejects requests over budget with 429 before they reach a controller:
+ * every API call counts against the caller's {@code sub}, with the budget of their role, and
+ * booking writes also count against the target hotel, however many callers share it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (!properties.enabled() || authentication == null || !authentication.isAuthenticated()) {
+            return true;
+        }
+
+        String role = roleOf(authentication);
+        long wait = rateLimiter.tryAcquire("user:" + authentication.getName(), properties.forRole(role));
+        if (wait > 0) {
+            reject("user", role, wait, "Too many requests, please slow down");
+        }
+
+        String hotelId = hotelIdOf(request);
+        if (hotelId != null && !HttpMethod.GET.matches(request.getMethod())) {
+            wait = rateLimiter.tryAcquire("hotel:" + hotelId, properties.hotel());
+            if (wait > 0) {
+                reject("hotel", role, wait, "Too many booking requests for hotel " + hotelId);
+            }
+        }
+        return true;
+    }
+
+    private void reject(String scope, String role, long waitNanos, String message) {
+        meterRegistry.counter("rate_limit.rejected", "scope", scope, "role", role).increment();
+        log.debug("Rate limited ({}, role {}), retry in {} ms", scope, role, waitNanos / 1_000_000);
+        throw new TooManyRequestsException(message, Duration.ofNanos(waitNanos));
+    }
+
+    private static String roleOf(Authentication authentication) {
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(ROLE_PREFIX)) {
+                return name.substring(ROLE_PREFIX.length());
+            }
+        }
+        return "USER";
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String hotelIdOf(HttpServletRequest request) {
+        Map<String, String> variables = (Map<String, String>) request
+                .getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables != null ? variables.get("hotelId") : null;
+    }
+}
@@ -0,0 +1,33 @@
+package com.shubham.internship_backend.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * {@code app.rate-limit.*}: request budgets per caller role and per hotel.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        boolean enabled,
+        long maxBuckets,
+        Duration idleTimeout,
+        Map<String, Limit> roles,
+        Limit hotel) {
+
+    /**
+     * @param rate  sustained requests per second
+     * @param burst requests allowed back to back before {@code rate} applies
+     */
+    public record Limit(double rate, int burst) {
+    }
+
+    /**
+     * Falls back to the {@code USER} budget for roles without their own.
+     */
+    public Limit forRole(String role) {
+        Limit limit = roles.get(role);
+        return limit != null ? limit : roles.get("USER");
+    }
+}
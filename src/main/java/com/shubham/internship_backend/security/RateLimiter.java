@@ -0,0 +1,60 @@
+package com.shubham.internship_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token buckets, one per key. Each bucket is a single {@link AtomicLong} updated by CAS
+ * (the GCRA form of a token bucket), so no request ever waits on a lock. Buckets idle for
+ * {@code app.rate-limit.idle-timeout} are dropped; a dropped bucket is simply full again.
+ */
+@Component
+public class RateLimiter {
+
+    private final Cache<String, Bucket> buckets;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.maxBuckets())
+                .expireAfterAccess(properties.idleTimeout())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, buckets, "rate-limit-buckets");
+    }
+
+    /**
+     * Takes one token from the key's bucket.
+     *
+     * @return 0 if the request may proceed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, RateLimitProperties.Limit limit) {
+        return buckets.get(key, k -> new Bucket()).tryAcquire(limit, System.nanoTime());
+    }
+
+    static final class Bucket {
+
+        // Theoretical arrival time: when the bucket would be full again if no more requests came
+        private final AtomicLong tat = new AtomicLong(Long.MIN_VALUE);
+
+        long tryAcquire(RateLimitProperties.Limit limit, long now) {
+            long interval = (long) (1_000_000_000L / limit.rate());
+            long tolerance = interval * (limit.burst() - 1L);
+            while (true) {
+                long current = tat.get();
+                long start = current == Long.MIN_VALUE ? now : Math.max(current, now);
+                long wait = start - now - tolerance;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (tat.compareAndSet(current, start + interval)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.shubham.internship_backend.security;
 
+import lombok.RequiredArgsConstructor;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
@@ -9,20 +10,25 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
 @Component
+@RequiredArgsConstructor
 public class SupabaseJwtConverter implements Converter<Jwt, AbstractAuthenticationToken> {
 
+    private final VerifiedTokenCache verifiedTokenCache;
+
     @Override
     public AbstractAuthenticationToken convert(Jwt jwt) {
         String userId = jwt.getSubject();
-        List<GrantedAuthority> authorities = extractAuthorities(jwt);
+        // The token object is built per request, authorities are parsed once per token
+        Collection<GrantedAuthority> authorities = verifiedTokenCache.authorities(jwt, this::extractAuthorities);
         return new JwtAuthenticationToken(jwt, authorities, userId);
     }
 
-    private List<GrantedAuthority> extractAuthorities(Jwt jwt) {
+    private Collection<GrantedAuthority> extractAuthorities(Jwt jwt) {
         List<GrantedAuthority> authorities = new ArrayList<>();
 
         Map<String, Object> appMetadata = jwt.getClaim("app_metadata");
@@ -42,7 +48,7 @@ public class SupabaseJwtConverter implements Converter<Jwt, AbstractAuthenticati
             authorities.add(new SimpleGrantedAuthority("ROLE_USER"));
         }
 
-        return authorities;
+        return List.copyOf(authorities);
     }
 
     private boolean isValidRole(String role) {
@@ -0,0 +1,94 @@
+package com.shubham.internship_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.function.Function;
+
+/**
+ * Remembers tokens that already passed signature and claim validation, keyed by the SHA-256
+ * of the raw token, until the token's {@code exp}. A front-desk session reusing one token then
+ * pays for HMAC verification and claim parsing once instead of on every request.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final Cache<String, Jwt> tokens;
+    // Weak keys compare by identity, so this follows the Jwt instances held by the cache above
+    private final Cache<Jwt, Collection<GrantedAuthority>> authorities;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry,
+            @Value("${app.jwt-cache.max-size:10000}") long maxSize) {
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Jwt>() {
+                    @Override
+                    public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+                        return Math.max(0, Duration.between(Instant.now(), jwt.getExpiresAt()).toNanos());
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.authorities = Caffeine.newBuilder()
+                .weakKeys()
+                .maximumSize(maxSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt");
+        CaffeineCacheMetrics.monitor(meterRegistry, authorities, "jwt-authorities");
+    }
+
+    public Jwt decode(String token, JwtDecoder delegate) {
+        String key = keyOf(token);
+        Jwt cached = tokens.getIfPresent(key);
+        // Caffeine expires lazily, so never hand out a token past its exp
+        if (cached != null && cached.getExpiresAt().isAfter(Instant.now())) {
+            return cached;
+        }
+
+        Jwt jwt = delegate.decode(token);
+        if (jwt.getExpiresAt() != null) {
+            tokens.put(key, jwt);
+        }
+        return jwt;
+    }
+
+    public Collection<GrantedAuthority> authorities(Jwt jwt,
+            Function<Jwt, Collection<GrantedAuthority>> extractor) {
+        return authorities.get(jwt, extractor);
+    }
+
+    private static String keyOf(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
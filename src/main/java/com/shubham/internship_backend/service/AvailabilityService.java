@@ -0,0 +1,41 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.exception.BadRequestException;
+import com.shubham.internship_backend.model.Hotel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Finds the hotels of a city with a room free for a whole stay. Each hotel is answered from {@link RoomInventory},
+ * which replaced the per-night occupancy bitmaps once hotels had several rooms per type: a bit can only say
+ * whether a night is taken, not how many rooms of a type are.
+ */
+@Service
+@RequiredArgsConstructor
+public class AvailabilityService {
+
+    public static final int MAX_STAY_NIGHTS = 366;
+
+    private final HotelCache hotelCache;
+    private final RoomInventory roomInventory;
+
+    public List<Hotel> findAvailableHotels(String city, LocalDate from, LocalDate to) {
+        if (city.isBlank()) {
+            throw new BadRequestException("City is required");
+        }
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        if (ChronoUnit.DAYS.between(from, to) > MAX_STAY_NIGHTS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_STAY_NIGHTS + " nights");
+        }
+
+        return hotelCache.findActiveByCity(city).stream()
+                .filter(hotel -> roomInventory.hasRoom(hotel, from, to))
+                .toList();
+    }
+}
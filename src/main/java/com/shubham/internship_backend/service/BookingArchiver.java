@@ -0,0 +1,160 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.event.BookingRemovedEvent;
+import com.shubham.internship_backend.model.Booking;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndReplaceOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Moves bookings that ended more than {@code app.archive.horizon} ago from {@code bookings} to
+ * {@value Booking#ARCHIVE_COLLECTION}, keeping the live collection, its indexes and the in-memory
+ * calendar down to current and future stays.
+ * <p>
+ * Each batch is copied (upsert) and then deleted, so a run that stops halfway is simply finished by the next one.
+ * Batches are small and separated by a pause to stay out of the way of live traffic.
+ * The {@code booking_nights} claims of archived stays are kept, so a late booking in the past still conflicts.
+ */
+@Component
+@Slf4j
+public class BookingArchiver {
+
+    private final MongoTemplate mongoTemplate;
+    private final BookingCalendarIndex bookingCalendarIndex;
+    private final RoomInventory roomInventory;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingRollups bookingRollups;
+    private final Counter archived;
+    private final boolean enabled;
+    private final Period horizon;
+    private final int batchSize;
+    private final Duration batchPause;
+    private final int maxBatchesPerRun;
+
+    private final AtomicBoolean archiveIndexed = new AtomicBoolean();
+
+    public BookingArchiver(MongoTemplate mongoTemplate, BookingCalendarIndex bookingCalendarIndex,
+            RoomInventory roomInventory, MeterRegistry meterRegistry, ApplicationEventPublisher eventPublisher,
+            BookingRollups bookingRollups,
+            @Value("${app.archive.enabled:false}") boolean enabled,
+            @Value("${app.archive.horizon:P90D}") Period horizon,
+            @Value("${app.archive.batch-size:500}") int batchSize,
+            @Value("${app.archive.batch-pause:PT0.2S}") Duration batchPause,
+            @Value("${app.archive.max-batches-per-run:200}") int maxBatchesPerRun) {
+        this.mongoTemplate = mongoTemplate;
+        this.bookingCalendarIndex = bookingCalendarIndex;
+        this.roomInventory = roomInventory;
+        this.eventPublisher = eventPublisher;
+        this.bookingRollups = bookingRollups;
+        this.archived = meterRegistry.counter("booking.archive.moved");
+        this.enabled = enabled;
+        this.horizon = horizon;
+        this.batchSize = batchSize;
+        this.batchPause = batchPause;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT1H}",
+            initialDelayString = "${app.archive.initial-delay:PT5M}")
+    public void archive() {
+        if (!enabled) {
+            return;
+        }
+        if (bookingRollups.isBackfillRunning()) {
+            // Bookings moving between collections could be counted twice or not at all
+            log.info("⏸️ Archiving waits for the booking rollup backfill to finish");
+            return;
+        }
+        ensureArchiveIndex();
+
+        LocalDate cutoff = LocalDate.now().minus(horizon);
+        long moved = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            int count = archiveBatch(cutoff);
+            moved += count;
+            if (count < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchPause.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (moved > 0) {
+            log.info("🗄️ Archived {} bookings that ended before {}", moved, cutoff);
+        }
+    }
+
+    int archiveBatch(LocalDate cutoff) {
+        Query oldest = query(where("endDate").lt(cutoff)).with(Sort.by("endDate")).limit(batchSize);
+        List<Booking> bookings = mongoTemplate.find(oldest, Booking.class);
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+
+        BulkOperations copy = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Booking.class,
+                Booking.ARCHIVE_COLLECTION);
+        bookings.forEach(booking -> copy.replaceOne(query(where("_id").is(booking.getId())), booking,
+                FindAndReplaceOptions.options().upsert()));
+        copy.execute();
+
+        List<String> ids = bookings.stream().map(Booking::getId).toList();
+        mongoTemplate.remove(query(where("_id").in(ids).and("endDate").lt(cutoff)), Booking.class);
+        // Other instances drop them through the change stream; here its echo finds nothing left to remove
+        for (String id : ids) {
+            Booking removed = bookingCalendarIndex.removeById(id);
+            if (removed != null) {
+                roomInventory.releaseRemoved(removed);
+                eventPublisher.publishEvent(new BookingRemovedEvent(removed));
+            }
+        }
+
+        archived.increment(bookings.size());
+        return bookings.size();
+    }
+
+    /**
+     * Whether bookings overlapping a window starting at {@code from} may have been archived.
+     * A window without {@code from} reaches back through all history, so it always may.
+     */
+    public boolean mayBeArchived(LocalDate from) {
+        return from == null || from.isBefore(LocalDate.now().minus(horizon));
+    }
+
+    // The archive has no entity of its own, so its indexes are not created from annotations
+    private void ensureArchiveIndex() {
+        if (archiveIndexed.compareAndSet(false, true)) {
+            mongoTemplate.indexOps(Booking.ARCHIVE_COLLECTION).ensureIndex(new Index()
+                    .on("hotelId", Sort.Direction.ASC)
+                    .on("startDate", Sort.Direction.ASC)
+                    .on("endDate", Sort.Direction.ASC)
+                    .named("hotel_date_idx"));
+            mongoTemplate.indexOps(Booking.ARCHIVE_COLLECTION).ensureIndex(new Index()
+                    .on("hotelId", Sort.Direction.ASC)
+                    .on("startDate", Sort.Direction.ASC)
+                    .on("_id", Sort.Direction.ASC)
+                    .named("hotel_start_id_idx"));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.dto.BatchBookingResponse;
+import com.shubham.internship_backend.dto.BatchItemResult;
+import com.shubham.internship_backend.dto.BatchItemResult.Status;
+import com.shubham.internship_backend.dto.BookingRequest;
+import com.shubham.internship_backend.dto.HotelBookingRequest;
+import com.shubham.internship_backend.event.BookingCreatedEvent;
+import com.shubham.internship_backend.event.BookingRemovedEvent;
+import com.shubham.internship_backend.exception.BadRequestException;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.EmailOutboxMessage;
+import com.shubham.internship_backend.model.Hotel;
+import com.shubham.internship_backend.observability.BookingMetrics;
+import com.shubham.internship_backend.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+
+/**
+ * Admits many bookings at once: one existence check and one lock per hotel, one bulk
+ * night reservation and one bulk insert per hotel, and a single digest email per batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingBatchService {
+
+    private final BookingRepository bookingRepository;
+    private final HotelCache hotelCache;
+    private final EmailService emailService;
+    private final BookingCalendarIndex bookingCalendarIndex;
+    private final HotelLockStripes hotelLockStripes;
+    private final BookingNightGuard bookingNightGuard;
+    private final RoomInventory roomInventory;
+    private final BookingMetrics bookingMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public BatchBookingResponse createBookings(String hotelId, String createdBy, List<BookingRequest> requests) {
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Booking> created = new ArrayList<>();
+
+        Map<Integer, BookingRequest> items = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            items.put(i, requests.get(i));
+        }
+        admitOrFail(hotelId, createdBy, items, results, created);
+
+        return finish(createdBy, results, created);
+    }
+
+    public BatchBookingResponse createBookings(String createdBy, List<HotelBookingRequest> requests) {
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Booking> created = new ArrayList<>();
+
+        Map<String, Map<Integer, BookingRequest>> byHotel = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            HotelBookingRequest request = requests.get(i);
+            byHotel.computeIfAbsent(request.getHotelId(), id -> new LinkedHashMap<>()).put(i, request);
+        }
+        byHotel.forEach((hotelId, items) -> admitOrFail(hotelId, createdBy, items, results, created));
+
+        return finish(createdBy, results, created);
+    }
+
+    private BatchBookingResponse finish(String createdBy, List<BatchItemResult> results, List<Booking> created) {
+        results.sort(Comparator.comparingInt(BatchItemResult::getIndex));
+        results.forEach(result -> bookingMetrics.batchItem(result.getStatus().name()));
+        log.info("Batch by user: {} created {} of {} bookings", createdBy, created.size(), results.size());
+        return BatchBookingResponse.of(results);
+    }
+
+    // A hotel whose write fails marks its own unanswered items FAILED; hotels already written keep their results
+    private void admitOrFail(String hotelId, String createdBy, Map<Integer, BookingRequest> items,
+            List<BatchItemResult> results, List<Booking> created) {
+        try {
+            admitForHotel(hotelId, createdBy, items, results, created);
+        } catch (RuntimeException e) {
+            log.error("Batch bookings for hotel {} could not be written", hotelId, e);
+            Set<Integer> answered = results.stream().map(BatchItemResult::getIndex).collect(Collectors.toSet());
+            items.keySet().stream()
+                    .filter(index -> !answered.contains(index))
+                    .forEach(index -> results.add(BatchItemResult.rejected(index, hotelId, Status.FAILED,
+                            "Booking could not be saved, please retry")));
+        }
+    }
+
+    private void admitForHotel(String hotelId, String createdBy, Map<Integer, BookingRequest> items,
+            List<BatchItemResult> results, List<Booking> created) {
+
+        // 0. Validate Hotel Exists, once for all of its items
+        Hotel hotel = hotelCache.find(hotelId).orElse(null);
+        if (hotel == null) {
+            items.keySet().forEach(index -> results.add(BatchItemResult.rejected(index, hotelId, Status.NOT_FOUND,
+                    "Hotel not found with ID: " + hotelId)));
+            return;
+        }
+
+        Lock lock = hotelLockStripes.lockFor(hotelId);
+        lock.lock();
+        try {
+            // 1. Take a room for every item; earlier items of the batch count against later ones
+            Map<String, Integer> candidates = new LinkedHashMap<>();
+            List<Booking> bookings = new ArrayList<>();
+
+            try {
+                items.forEach((index, request) -> {
+                    if (!request.getStartDate().isBefore(request.getEndDate())) {
+                        results.add(BatchItemResult.rejected(index, hotelId, Status.BAD_REQUEST,
+                                "Start date must be before end date"));
+                        return;
+                    }
+                    Booking booking;
+                    try {
+                        String roomType = RoomInventory.roomTypeFor(hotel, request.getRoomType());
+                        booking = toBooking(hotelId, createdBy, request, roomType);
+                        if (!roomInventory.tryReserve(booking, RoomInventory.capacityOf(hotel, roomType))) {
+                            results.add(BatchItemResult.rejected(index, hotelId, Status.CONFLICT,
+                                    "Booking dates overlap with existing booking"));
+                            return;
+                        }
+                    } catch (BadRequestException e) {
+                        results.add(BatchItemResult.rejected(index, hotelId, Status.BAD_REQUEST, e.getMessage()));
+                        return;
+                    }
+
+                    candidates.put(booking.getId(), index);
+                    bookings.add(booking);
+                });
+            } catch (RuntimeException e) {
+                // Rooms already taken for earlier items would otherwise stay held for bookings never written
+                bookings.forEach(roomInventory::release);
+                throw e;
+            }
+
+            if (bookings.isEmpty()) {
+                return;
+            }
+
+            // 2. Claim the nights of all candidates, dropping the ones another instance got first
+            Set<String> lost;
+            try {
+                lost = bookingNightGuard.reserveAll(bookings,
+                        booking -> RoomInventory.capacityOf(hotel, booking.getRoomType()));
+            } catch (RuntimeException e) {
+                bookings.forEach(roomInventory::release);
+                throw e;
+            }
+            List<Booking> admitted = new ArrayList<>();
+            for (Booking booking : bookings) {
+                if (lost.contains(booking.getId())) {
+                    roomInventory.release(booking);
+                    results.add(BatchItemResult.rejected(candidates.get(booking.getId()), hotelId, Status.CONFLICT,
+                            "Booking dates overlap with existing booking"));
+                } else {
+                    admitted.add(booking);
+                }
+            }
+
+            // 3. Insert the admitted bookings in one round-trip
+            if (admitted.isEmpty()) {
+                return;
+            }
+            // In the calendar before they are written, so this instance's change-stream echo is not counted again
+            admitted.forEach(bookingCalendarIndex::add);
+            EmailOutboxMessage notification = null;
+            try {
+                // One digest per hotel, queued before the write so the bookings are never saved without it
+                notification = emailService.queueBatchNotification(admitted);
+                bookingRepository.insert(admitted);
+            } catch (RuntimeException e) {
+                if (notification != null) {
+                    emailService.discard(notification);
+                }
+                bookingNightGuard.releaseAll(admitted.stream().map(Booking::getId).toList());
+                for (Booking booking : admitted) {
+                    bookingCalendarIndex.remove(booking);
+                    roomInventory.release(booking);
+                    eventPublisher.publishEvent(new BookingRemovedEvent(booking));
+                }
+                throw e;
+            }
+
+            for (Booking booking : admitted) {
+                eventPublisher.publishEvent(new BookingCreatedEvent(booking));
+                results.add(BatchItemResult.created(candidates.get(booking.getId()), booking));
+            }
+            created.addAll(admitted);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Booking toBooking(String hotelId, String createdBy, BookingRequest request, String roomType) {
+        return Booking.builder()
+                .id(new ObjectId().toHexString())
+                .hotelId(hotelId)
+                .createdBy(createdBy)
+                .guestName(request.getGuestName())
+                .guestEmail(request.getGuestEmail())
+                .roomType(roomType)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .createdAt(Instant.now())
+                .build();
+    }
+}
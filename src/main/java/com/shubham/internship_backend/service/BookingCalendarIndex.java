@@ -0,0 +1,169 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Stream;
+
+/**
+ * In-memory calendar of bookings per hotel, ordered by start date.
+ * Room capacity is checked by {@link RoomInventory}, which is built from this calendar.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingCalendarIndex {
+
+    private static final Comparator<Booking> BY_START_DATE = Comparator
+            .comparing(Booking::getStartDate)
+            .thenComparing(Booking::getId);
+
+    private final BookingRepository bookingRepository;
+    private final MongoTemplate mongoTemplate;
+
+    private final ConcurrentMap<String, NavigableSet<Booking>> calendars = new ConcurrentHashMap<>();
+    // Change-stream deletes only carry the id, so bookings are also reachable without their hotel
+    private final ConcurrentMap<String, Booking> byId = new ConcurrentHashMap<>();
+
+    @Value("${app.booking-index.warm-on-startup:true}")
+    private boolean warmOnStartup;
+
+    // Once every booking has been loaded, a missing hotel simply has no bookings
+    private volatile boolean warmed;
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE - 1) // before RoomInventory builds on top of it
+    public void warmUp() {
+        if (!warmOnStartup) {
+            log.info("⏭️ Booking index warm-up disabled, hotels will be loaded on first access");
+            return;
+        }
+
+        long count = 0;
+        try (Stream<Booking> bookings = mongoTemplate.stream(new Query(), Booking.class)) {
+            for (Booking booking : (Iterable<Booking>) bookings::iterator) {
+                calendars.computeIfAbsent(booking.getHotelId(), id -> newCalendar()).add(booking);
+                byId.put(booking.getId(), booking);
+                count++;
+            }
+        }
+        warmed = true;
+        log.info("📅 Booking index loaded {} bookings across {} hotels", count, calendars.size());
+    }
+
+    public List<Booking> getBookings(String hotelId) {
+        return new ArrayList<>(calendarFor(hotelId));
+    }
+
+    /**
+     * Hotels whose bookings are currently held in memory.
+     */
+    public Set<String> loadedHotels() {
+        return Set.copyOf(calendars.keySet());
+    }
+
+    public void add(Booking booking) {
+        calendarFor(booking.getHotelId()).add(booking);
+        byId.put(booking.getId(), booking);
+    }
+
+    public void remove(Booking booking) {
+        NavigableSet<Booking> calendar = calendars.get(booking.getHotelId());
+        if (calendar != null) {
+            calendar.remove(booking);
+        }
+        byId.remove(booking.getId(), booking);
+    }
+
+    /**
+     * Applies a booking written elsewhere, replacing any earlier version of it.
+     * Hotels that are not loaded yet are skipped: they will be read fresh on first access.
+     *
+     * @return the version that was replaced, or {@code null}
+     */
+    public Booking apply(Booking booking) {
+        Booking previous = byId.get(booking.getId());
+        if (previous != null && sameStay(previous, booking)) {
+            // Usually the echo of a write made here; swapping it would briefly open a gap
+            return previous;
+        }
+        if (previous != null) {
+            remove(previous);
+        }
+        if (warmed || calendars.containsKey(booking.getHotelId())) {
+            add(booking);
+        }
+        return previous;
+    }
+
+    /**
+     * @return the removed booking, or {@code null} if it was not indexed
+     */
+    public Booking removeById(String bookingId) {
+        Booking previous = byId.get(bookingId);
+        if (previous != null) {
+            remove(previous);
+        }
+        return previous;
+    }
+
+    /**
+     * Forgets every hotel and warms up again, for when this instance may have missed booking changes.
+     */
+    public void reload() {
+        warmed = false;
+        calendars.clear();
+        byId.clear();
+        warmUp();
+    }
+
+    private NavigableSet<Booking> calendarFor(String hotelId) {
+        NavigableSet<Booking> calendar = calendars.get(hotelId);
+        if (calendar != null) {
+            return calendar;
+        }
+        if (warmed) {
+            return calendars.computeIfAbsent(hotelId, id -> newCalendar());
+        }
+
+        // Load outside the map so a slow query does not block other hotels
+        NavigableSet<Booking> loaded = newCalendar();
+        loaded.addAll(bookingRepository.findByHotelIdOrderByStartDateAsc(hotelId));
+        NavigableSet<Booking> existing = calendars.putIfAbsent(hotelId, loaded);
+        if (existing != null) {
+            return existing;
+        }
+        loaded.forEach(booking -> byId.put(booking.getId(), booking));
+        return loaded;
+    }
+
+    static boolean sameStay(Booking a, Booking b) {
+        return a.getHotelId().equals(b.getHotelId())
+                && Objects.equals(a.getRoomType(), b.getRoomType())
+                && a.getStartDate().equals(b.getStartDate())
+                && a.getEndDate().equals(b.getEndDate());
+    }
+
+    private static NavigableSet<Booking> newCalendar() {
+        return new ConcurrentSkipListSet<>(BY_START_DATE);
+    }
+}
@@ -0,0 +1,345 @@
+package com.shubham.internship_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.shubham.internship_backend.dto.BookingFeedEvent;
+import com.shubham.internship_backend.dto.BookingSummary;
+import com.shubham.internship_backend.event.BookingCreatedEvent;
+import com.shubham.internship_backend.event.BookingRemovedEvent;
+import com.shubham.internship_backend.event.BookingReplicatedEvent;
+import com.shubham.internship_backend.event.BookingsResyncedEvent;
+import com.shubham.internship_backend.exception.ResourceNotFoundException;
+import com.shubham.internship_backend.exception.ServiceUnavailableException;
+import com.shubham.internship_backend.model.Booking;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Per-hotel version of the booking calendar, and a server-sent-event feed of its changes.
+ * <p>
+ * The version goes up once for every booking created, changed or removed in this instance's calendar,
+ * after the calendar itself has changed, so a list read after the version cannot be older than it.
+ * List responses carry it as their ETag, letting a poll that has seen it be answered with 304 before
+ * the calendar or Mongo is touched. A resync starts a new epoch, which invalidates every ETag.
+ * <p>
+ * Each change is serialized once per view and the same frame is written to every subscriber.
+ * Writes happen on a few dispatcher threads, picked by hotel so one hotel's events stay in order;
+ * an idle subscriber holds a connection but no thread. Recent frames are kept so a client that reconnects
+ * with {@code Last-Event-ID} gets what it missed, or a {@code reset} when that is no longer possible.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@Slf4j
+public class BookingFeed {
+
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String REMOVED = "removed";
+    public static final String RESET = "reset";
+
+    private final HotelCache hotelCache;
+    private final ObjectWriter eventWriter;
+    private final Counter events;
+    private final int replaySize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+
+    private final ConcurrentMap<String, HotelFeed> hotels = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService[] dispatchers;
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("keep-alive").build();
+
+    private volatile String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    public BookingFeed(HotelCache hotelCache, ObjectMapper objectMapper, MeterRegistry meterRegistry,
+            @Value("${app.booking-feed.replay-size:256}") int replaySize,
+            @Value("${app.booking-feed.max-subscribers:10000}") int maxSubscribers,
+            @Value("${app.booking-feed.timeout:PT30M}") Duration timeout,
+            @Value("${app.booking-feed.dispatch-threads:4}") int dispatchThreads) {
+        this.hotelCache = hotelCache;
+        this.eventWriter = objectMapper.writerFor(BookingFeedEvent.class);
+        this.events = meterRegistry.counter("booking.feed.events");
+        this.replaySize = replaySize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        this.dispatchers = new ExecutorService[dispatchThreads];
+        for (int i = 0; i < dispatchThreads; i++) {
+            String name = "booking-feed-" + i;
+            dispatchers[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        meterRegistry.gauge("booking.feed.subscribers", subscriberCount);
+    }
+
+    /**
+     * Weak ETag of a hotel's booking list in the given view, from the current epoch and version.
+     */
+    public String etag(String hotelId, boolean summary) {
+        return "W/\"" + position(hotelId) + (summary ? "-summary" : "-full") + "\"";
+    }
+
+    /**
+     * Opens a feed for a hotel. Without a usable {@code lastEventId} it starts with a {@code reset},
+     * after which the client fetches the list and applies the events that follow in order.
+     */
+    public SseEmitter subscribe(String hotelId, boolean summary, String lastEventId) {
+        hotelCache.find(hotelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with ID: " + hotelId));
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new ServiceUnavailableException("Too many booking feed subscribers", Duration.ofSeconds(30));
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        HotelFeed feed = hotels.computeIfAbsent(hotelId, id -> new HotelFeed());
+        Subscriber subscriber = new Subscriber(emitter, summary);
+        emitter.onCompletion(() -> unsubscribe(feed, subscriber));
+        emitter.onTimeout(() -> unsubscribe(feed, subscriber));
+        emitter.onError(e -> unsubscribe(feed, subscriber));
+
+        feed.lock.lock();
+        try {
+            // Queued under the lock, so later events reach the subscriber after its replay
+            List<Set<DataWithMediaType>> missed = feed.since(epoch, lastEventId, summary);
+            feed.subscribers.add(subscriber);
+            List<Subscriber> target = List.of(subscriber);
+            if (missed == null) {
+                Set<DataWithMediaType> reset = frame(id(feed.version), RESET, serialize(RESET, null));
+                dispatch(hotelId, () -> deliver(feed, target, reset, reset));
+            } else if (!missed.isEmpty()) {
+                dispatch(hotelId, () -> missed.forEach(frame -> deliver(feed, target, frame, frame)));
+            }
+        } finally {
+            feed.lock.unlock();
+        }
+        return emitter;
+    }
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        publish(CREATED, event.booking());
+    }
+
+    @EventListener
+    public void onBookingReplicated(BookingReplicatedEvent event) {
+        Booking previous = event.previous();
+        Booking current = event.current();
+        if (current == null) {
+            publish(REMOVED, previous);
+        } else if (previous == null) {
+            publish(CREATED, current);
+        } else if (!previous.getHotelId().equals(current.getHotelId())) {
+            publish(REMOVED, previous);
+            publish(CREATED, current);
+        } else {
+            publish(UPDATED, current);
+        }
+    }
+
+    @EventListener
+    public void onBookingRemoved(BookingRemovedEvent event) {
+        publish(REMOVED, event.booking());
+    }
+
+    @EventListener(BookingsResyncedEvent.class)
+    public void onBookingsResynced() {
+        epoch = Long.toString(System.currentTimeMillis(), 36);
+        String reset = serialize(RESET, null);
+        hotels.forEach((hotelId, feed) -> {
+            feed.lock.lock();
+            try {
+                feed.recent.clear();
+                Set<DataWithMediaType> frame = frame(id(feed.version), RESET, reset);
+                List<Subscriber> targets = List.copyOf(feed.subscribers);
+                dispatch(hotelId, () -> deliver(feed, targets, frame, frame));
+            } finally {
+                feed.lock.unlock();
+            }
+        });
+    }
+
+    // Keeps proxies from closing idle connections and notices clients that went away
+    @Scheduled(fixedDelayString = "${app.booking-feed.heartbeat:PT20S}")
+    public void heartbeat() {
+        hotels.forEach((hotelId, feed) -> {
+            if (!feed.subscribers.isEmpty()) {
+                List<Subscriber> targets = List.copyOf(feed.subscribers);
+                dispatch(hotelId, () -> deliver(feed, targets, heartbeat, heartbeat));
+            }
+        });
+    }
+
+    // Completes open feeds before graceful shutdown would wait for them
+    @EventListener(ContextClosedEvent.class)
+    public void close() {
+        hotels.values().forEach(feed -> feed.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+        for (ExecutorService dispatcher : dispatchers) {
+            dispatcher.shutdown();
+        }
+    }
+
+    private void publish(String type, Booking booking) {
+        String hotelId = booking.getHotelId();
+        HotelFeed feed = hotels.computeIfAbsent(hotelId, id -> new HotelFeed());
+        // Serialized once per view and outside the lock; the version only goes into the event id
+        String full = null;
+        String summary = null;
+        if (!feed.subscribers.isEmpty()) {
+            full = serialize(type, booking);
+            summary = serialize(type, BookingSummary.of(booking));
+        }
+
+        feed.lock.lock();
+        try {
+            long version = feed.version + 1;
+            if (feed.subscribers.isEmpty()) {
+                // Nobody to replay to; a client that comes back gets a reset
+                feed.recent.clear();
+            } else {
+                if (full == null) {
+                    full = serialize(type, booking);
+                    summary = serialize(type, BookingSummary.of(booking));
+                }
+                FeedFrame frame = new FeedFrame(version, frame(id(version), type, full),
+                        frame(id(version), type, summary));
+                feed.recent.addLast(frame);
+                if (feed.recent.size() > replaySize) {
+                    feed.recent.removeFirst();
+                }
+                List<Subscriber> targets = List.copyOf(feed.subscribers);
+                dispatch(hotelId, () -> deliver(feed, targets, frame.full(), frame.summary()));
+            }
+            feed.version = version;
+        } finally {
+            feed.lock.unlock();
+        }
+        events.increment();
+    }
+
+    private void deliver(HotelFeed feed, List<Subscriber> targets, Set<DataWithMediaType> full,
+            Set<DataWithMediaType> summary) {
+        for (Subscriber subscriber : targets) {
+            if (subscriber.closed.get()) {
+                continue;
+            }
+            try {
+                subscriber.emitter.send(subscriber.summary ? summary : full);
+            } catch (IOException | IllegalStateException e) {
+                // The client is gone, the container completes the emitter
+                log.debug("Booking feed send failed: {}", e.getMessage());
+                unsubscribe(feed, subscriber);
+            }
+        }
+    }
+
+    private void dispatch(String hotelId, Runnable task) {
+        dispatchers[Math.floorMod(hotelId.hashCode(), dispatchers.length)].execute(task);
+    }
+
+    private void unsubscribe(HotelFeed feed, Subscriber subscriber) {
+        subscriber.closed.set(true);
+        if (feed.subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+
+    private String position(String hotelId) {
+        HotelFeed feed = hotels.get(hotelId);
+        return epoch + "-" + (feed != null ? feed.version : 0);
+    }
+
+    private String id(long version) {
+        return epoch + "-" + version;
+    }
+
+    private String serialize(String type, Object booking) {
+        try {
+            return eventWriter.writeValueAsString(new BookingFeedEvent(type, booking));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize booking feed event", e);
+        }
+    }
+
+    private static Set<DataWithMediaType> frame(String id, String type, String data) {
+        return SseEmitter.event().id(id).name(type).data(data).build();
+    }
+
+    private record FeedFrame(long version, Set<DataWithMediaType> full, Set<DataWithMediaType> summary) {
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final boolean summary;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscriber(SseEmitter emitter, boolean summary) {
+            this.emitter = emitter;
+            this.summary = summary;
+        }
+    }
+
+    private static final class HotelFeed {
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final ArrayDeque<FeedFrame> recent = new ArrayDeque<>();
+        private volatile long version;
+
+        /**
+         * Frames after {@code lastEventId} in the subscriber's view, or null if they are not all kept.
+         * Called under the lock.
+         */
+        private List<Set<DataWithMediaType>> since(String currentEpoch, String lastEventId, boolean summary) {
+            if (lastEventId == null || !lastEventId.startsWith(currentEpoch + "-")) {
+                return null;
+            }
+            long last;
+            try {
+                last = Long.parseLong(lastEventId.substring(currentEpoch.length() + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            if (last > version) {
+                return null;
+            }
+            if (last < version && (recent.isEmpty() || recent.peekFirst().version() > last + 1)) {
+                return null;
+            }
+            List<Set<DataWithMediaType>> missed = new ArrayList<>();
+            for (FeedFrame frame : recent) {
+                if (frame.version() > last) {
+                    missed.add(summary ? frame.summary() : frame.full());
+                }
+            }
+            return missed;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.shubham.internship_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shubham.internship_backend.dto.BookingRequest;
+import com.shubham.internship_backend.exception.BadRequestException;
+import com.shubham.internship_backend.exception.ConflictException;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.IdempotencyRecord;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Makes {@code createBooking} safe to retry with an {@code Idempotency-Key}.
+ * <p>
+ * The first request with a key claims it by inserting an unfinished record into {@code idempotency_keys}, whose
+ * unique {@code _id} decides the winner across instances. Only the winner creates the booking and then completes
+ * the record; a retry with the same key gets the stored booking back without another conflict check or email.
+ * A retry arriving while the original is still running waits up to {@code app.idempotency.wait} for it, on
+ * another instance by polling the record, and otherwise gets 409. Recent keys are held in a bounded cache in
+ * front of the TTL'd collection.
+ * <p>
+ * A claim whose instance dies before completing it is not taken over, since the booking may exist: its key
+ * answers 409 until the record expires.
+ */
+@Component
+@Slf4j
+public class BookingIdempotency {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(50);
+
+    private final MongoTemplate mongoTemplate;
+    private final Duration wait;
+    private final Cache<String, IdempotencyRecord> completed;
+    private final ConcurrentMap<String, CompletableFuture<IdempotencyRecord>> inFlight = new ConcurrentHashMap<>();
+    private final Counter replays;
+
+    public BookingIdempotency(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+            @Value("${app.idempotency.cache-size:10000}") long cacheSize,
+            @Value("${app.idempotency.cache-ttl:PT10M}") Duration cacheTtl,
+            @Value("${app.idempotency.wait:PT5S}") Duration wait) {
+        this.mongoTemplate = mongoTemplate;
+        this.wait = wait;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+        this.replays = meterRegistry.counter("booking.idempotent.replays");
+    }
+
+    public record Outcome(Booking booking, boolean replayed) {
+    }
+
+    public Outcome execute(String createdBy, String key, String hotelId, BookingRequest request,
+            Supplier<Booking> create) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String id = createdBy + ":" + key;
+        String fingerprint = fingerprint(hotelId, request);
+
+        IdempotencyRecord cached = completed.getIfPresent(id);
+        if (cached != null) {
+            return replay(cached, fingerprint);
+        }
+
+        CompletableFuture<IdempotencyRecord> mine = new CompletableFuture<>();
+        CompletableFuture<IdempotencyRecord> running = inFlight.putIfAbsent(id, mine);
+        if (running != null) {
+            return replay(await(running), fingerprint);
+        }
+
+        try {
+            IdempotencyRecord stored = claimOrAwait(id, fingerprint);
+            if (stored == null) {
+                stored = create(id, fingerprint, create);
+                completed.put(id, stored);
+                mine.complete(stored);
+                return new Outcome(stored.getBooking(), false);
+            }
+            if (stored.getBooking() != null) {
+                completed.put(id, stored);
+            }
+            mine.complete(stored);
+            return replay(stored, fingerprint);
+        } catch (RuntimeException e) {
+            // Failures are not remembered: duplicates waiting now share the error, later retries run again
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(id, mine);
+        }
+    }
+
+    /**
+     * Claims the key, returning null, or returns the record of the request that completed it first.
+     */
+    private IdempotencyRecord claimOrAwait(String id, String fingerprint) {
+        long deadline = System.nanoTime() + wait.toNanos();
+        while (true) {
+            try {
+                mongoTemplate.insert(IdempotencyRecord.builder()
+                        .id(id)
+                        .fingerprint(fingerprint)
+                        .createdAt(Instant.now())
+                        .build());
+                return null;
+            } catch (DuplicateKeyException e) {
+                // Claimed before, here or on another instance
+            }
+
+            IdempotencyRecord stored = mongoTemplate.findById(id, IdempotencyRecord.class);
+            if (stored == null) {
+                continue; // the original failed and released the key, so claim it again
+            }
+            if (stored.getBooking() != null || !stored.getFingerprint().equals(fingerprint)) {
+                return stored;
+            }
+            if (System.nanoTime() >= deadline) {
+                throw new ConflictException("A request with this " + HEADER + " is still in progress");
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the original request", e);
+            }
+        }
+    }
+
+    private IdempotencyRecord create(String id, String fingerprint, Supplier<Booking> create) {
+        Booking booking;
+        try {
+            booking = create.get();
+        } catch (RuntimeException e) {
+            release(id);
+            throw e;
+        }
+        IdempotencyRecord stored = IdempotencyRecord.builder()
+                .id(id)
+                .fingerprint(fingerprint)
+                .booking(booking)
+                .createdAt(Instant.now())
+                .build();
+        try {
+            mongoTemplate.updateFirst(query(where("_id").is(id)), new Update().set("booking", booking),
+                    IdempotencyRecord.class);
+        } catch (RuntimeException e) {
+            // The booking exists; failing now would only turn the client's retry into a 409
+            log.error("Could not complete idempotency key {}, retries on other instances get 409 until it expires",
+                    id, e);
+        }
+        return stored;
+    }
+
+    private void release(String id) {
+        try {
+            mongoTemplate.remove(query(where("_id").is(id).and("booking").is(null)), IdempotencyRecord.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not release idempotency key {}, it answers 409 until it expires", id, e);
+        }
+    }
+
+    private Outcome replay(IdempotencyRecord record, String fingerprint) {
+        if (!record.getFingerprint().equals(fingerprint)) {
+            throw new BadRequestException(HEADER + " was already used for a different booking request");
+        }
+        replays.increment();
+        return new Outcome(record.getBooking(), true);
+    }
+
+    private static IdempotencyRecord await(CompletableFuture<IdempotencyRecord> running) {
+        try {
+            return running.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the original request", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    static String fingerprint(String hotelId, BookingRequest request) {
+        return String.join("|", hotelId, request.getGuestName(), request.getGuestEmail(),
+                request.getStartDate().toString(), request.getEndDate().toString(),
+                String.valueOf(request.getRoomType()));
+    }
+}
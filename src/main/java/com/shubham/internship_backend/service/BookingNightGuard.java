@@ -0,0 +1,165 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.exception.ConflictException;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.BookingNight;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ * Takes a room on every night of a stay in {@code booking_nights} before the booking is saved.
+ * The in-process lock only protects one instance; this is what stops replicas together from
+ * admitting more bookings for a night than the room type has rooms.
+ * <p>
+ * A night is claimed in two steps: its document is created if missing (an upsert on {@code _id} alone,
+ * which MongoDB retries on a duplicate key), then its {@code count} is raised only while it is below capacity.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingNightGuard {
+
+    private final MongoTemplate mongoTemplate;
+
+    public void reserve(Booking booking, int capacity) {
+        List<BookingNight> nights = new ArrayList<>();
+        addNights(nights, booking);
+        createMissing(nights);
+
+        BulkOperations claim = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookingNight.class);
+        nights.forEach(night -> claim.updateOne(claimable(night.getId(), capacity), claim(booking.getId())));
+        if (claim.execute().getMatchedCount() < nights.size()) {
+            // Some night was full, give back the ones that were taken
+            release(booking.getId());
+            log.warn("No room left on another instance for hotel: {} dates: {} - {}", booking.getHotelId(),
+                    booking.getStartDate(), booking.getEndDate());
+            throw new ConflictException("Booking dates overlap with existing booking");
+        }
+    }
+
+    /**
+     * Claims the nights of several bookings with one bulk write, then reads back which claims held.
+     *
+     * @return ids of the bookings that missed at least one night; their other nights are released
+     */
+    public Set<String> reserveAll(List<Booking> bookings, ToIntFunction<Booking> capacity) {
+        List<BookingNight> nights = new ArrayList<>();
+        bookings.forEach(booking -> addNights(nights, booking));
+        createMissing(nights);
+
+        BulkOperations claim = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookingNight.class);
+        for (Booking booking : bookings) {
+            int rooms = capacity.applyAsInt(booking);
+            for (LocalDate night = booking.getStartDate(); night.isBefore(booking.getEndDate());
+                    night = night.plusDays(1)) {
+                String id = BookingNight.idOf(booking.getHotelId(), booking.getRoomType(), night);
+                claim.updateOne(claimable(id, rooms), claim(booking.getId()));
+            }
+        }
+        claim.execute();
+
+        Map<String, BookingNight> claimed = new HashMap<>();
+        Query written = Query.query(Criteria.where("_id").in(nights.stream().map(BookingNight::getId).toList()));
+        mongoTemplate.find(written, BookingNight.class).forEach(night -> claimed.put(night.getId(), night));
+
+        Set<String> rejected = new HashSet<>();
+        for (BookingNight night : nights) {
+            BookingNight stored = claimed.get(night.getId());
+            if (stored == null || stored.getBookingIds() == null
+                    || !stored.getBookingIds().contains(night.getBookingIds().get(0))) {
+                rejected.add(night.getBookingIds().get(0));
+            }
+        }
+        if (!rejected.isEmpty()) {
+            releaseAll(rejected);
+        }
+        return rejected;
+    }
+
+    public void release(String bookingId) {
+        mongoTemplate.updateMulti(holding(bookingId), unclaim(bookingId), BookingNight.class);
+    }
+
+    public void releaseAll(Collection<String> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookingNight.class);
+        bookingIds.forEach(bookingId -> bulk.updateMulti(holding(bookingId), unclaim(bookingId)));
+        bulk.execute();
+    }
+
+    private void createMissing(List<BookingNight> nights) {
+        // Several bookings of one batch may share a night
+        Map<String, BookingNight> distinct = new LinkedHashMap<>();
+        nights.forEach(night -> distinct.putIfAbsent(night.getId(), night));
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookingNight.class);
+        distinct.values().forEach(night -> bulk.upsert(byId(night), emptyNight(night)));
+        bulk.execute();
+    }
+
+    static Query byId(BookingNight night) {
+        return Query.query(Criteria.where("_id").is(night.getId()));
+    }
+
+    static Update emptyNight(BookingNight night) {
+        return new Update()
+                .setOnInsert("hotelId", night.getHotelId())
+                .setOnInsert("roomType", night.getRoomType())
+                .setOnInsert("night", night.getNight())
+                .setOnInsert("count", 0)
+                .setOnInsert("bookingIds", List.of());
+    }
+
+    // Nights claimed before room types existed have no count and therefore stay full
+    static Query claimable(String nightId, int capacity) {
+        return Query.query(Criteria.where("_id").is(nightId).and("count").lt(capacity));
+    }
+
+    static Update claim(String bookingId) {
+        return new Update().inc("count", 1).push("bookingIds", bookingId);
+    }
+
+    static Query holding(String bookingId) {
+        return Query.query(Criteria.where("bookingIds").is(bookingId));
+    }
+
+    static Update unclaim(String bookingId) {
+        return new Update().inc("count", -1).pull("bookingIds", bookingId);
+    }
+
+    /**
+     * One night document per night of the booking, each listing only that booking.
+     */
+    static void addNights(List<BookingNight> nights, Booking booking) {
+        for (LocalDate night = booking.getStartDate(); night.isBefore(booking.getEndDate());
+                night = night.plusDays(1)) {
+            nights.add(BookingNight.builder()
+                    .id(BookingNight.idOf(booking.getHotelId(), booking.getRoomType(), night))
+                    .hotelId(booking.getHotelId())
+                    .roomType(booking.getRoomType())
+                    .night(night)
+                    .count(1)
+                    .bookingIds(List.of(booking.getId()))
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.event.BookingCreatedEvent;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.BookingRollup;
+import com.shubham.internship_backend.model.BookingRollupState;
+import com.shubham.internship_backend.model.Hotel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Keeps {@value BookingRollup#COLLECTION} up to date: per hotel, city and staff member the bookings, nights and
+ * lead times, and per hotel night the rooms taken.
+ * <p>
+ * Bookings created here are added as their {@link BookingCreatedEvent} is published. Their increments are merged
+ * in memory and written as one unordered bulk of {@code $inc} upserts every {@code flush-interval}, so a burst of
+ * bookings for the same hotel costs one update per document. Bookings older than the rollups themselves are counted
+ * by a backfill that walks the archive and then {@code bookings} in {@code _id} order. It checkpoints after every
+ * batch under a lease. A batch that is repeated after a crash is skipped by every document it already reached,
+ * because each document records the last booking id the backfill added to it.
+ * <p>
+ * Counts reflect bookings as they were created. Increments still in memory when an instance dies are lost.
+ */
+@Component
+@Slf4j
+public class BookingRollups {
+
+    // Upper bounds in days, the last bucket is open
+    private static final int[] LEAD_TIME_BOUNDS = {0, 1, 3, 7, 14, 30, 60, 90, 180, 365};
+    private static final List<String> SOURCES = List.of(Booking.ARCHIVE_COLLECTION, "bookings");
+    private static final int DUPLICATE_KEY = 11000;
+
+    private final MongoTemplate mongoTemplate;
+    private final HotelCache hotelCache;
+    private final boolean enabled;
+    private final boolean backfillEnabled;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Duration lease;
+    private final Counter flushFailures;
+
+    private final ConcurrentMap<String, RollupDelta> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock startLock = new ReentrantLock();
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile Instant liveSince;
+
+    public BookingRollups(MongoTemplate mongoTemplate, HotelCache hotelCache, MeterRegistry meterRegistry,
+            @Value("${app.rollups.enabled:true}") boolean enabled,
+            @Value("${app.rollups.backfill.enabled:true}") boolean backfillEnabled,
+            @Value("${app.rollups.backfill.batch-size:1000}") int batchSize,
+            @Value("${app.rollups.backfill.max-batches-per-run:100}") int maxBatchesPerRun,
+            @Value("${app.rollups.backfill.lease:PT5M}") Duration lease) {
+        this.mongoTemplate = mongoTemplate;
+        this.hotelCache = hotelCache;
+        this.enabled = enabled;
+        this.backfillEnabled = backfillEnabled;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.lease = lease;
+        this.flushFailures = meterRegistry.counter("booking.rollups.flush.failures");
+        meterRegistry.gaugeMapSize("booking.rollups.pending", List.of(), pending);
+    }
+
+    @EventListener
+    public void onBookingCreated(BookingCreatedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        Booking booking = event.booking();
+        // Bookings from before the rollups existed are the backfill's
+        if (booking.getCreatedAt() != null && booking.getCreatedAt().isBefore(liveSince())) {
+            return;
+        }
+        contribute(booking, cityOf(booking.getHotelId()),
+                (id, delta) -> pending.merge(id, delta, RollupDelta::add));
+    }
+
+    @Scheduled(fixedDelayString = "${app.rollups.flush-interval:PT1S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookingRollup.class);
+        List<String> ids = new ArrayList<>();
+        List<RollupDelta> deltas = new ArrayList<>();
+        for (String id : pending.keySet()) {
+            // Increments arriving after the remove start a new delta for the next flush
+            RollupDelta delta = pending.remove(id);
+            if (delta != null) {
+                bulk.upsert(query(where("_id").is(id)), delta.toUpdate());
+                ids.add(id);
+                deltas.add(delta);
+            }
+        }
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // Unordered: every upsert without an error was applied, so only the failed ones are retried
+            flushFailures.increment();
+            e.getErrors().forEach(error -> requeue(ids.get(error.getIndex()), deltas.get(error.getIndex())));
+            log.warn("Failed to write {} of {} booking rollup updates, retrying them with the next flush",
+                    e.getErrors().size(), ids.size(), e);
+        } catch (RuntimeException e) {
+            // Nothing is known to be written. A bulk that was applied but whose reply was lost is counted twice
+            flushFailures.increment();
+            for (int i = 0; i < ids.size(); i++) {
+                requeue(ids.get(i), deltas.get(i));
+            }
+            log.warn("Failed to write {} booking rollup updates, retrying them with the next flush", ids.size(), e);
+        }
+    }
+
+    private void requeue(String id, RollupDelta delta) {
+        pending.merge(id, delta, RollupDelta::add);
+    }
+
+    @EventListener(ContextClosedEvent.class)
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Counts bookings from before {@code liveSince}, a few batches per run, until every source is done.
+     */
+    @Scheduled(fixedDelayString = "${app.rollups.backfill.interval:PT1M}",
+            initialDelayString = "${app.rollups.backfill.initial-delay:PT1M}")
+    public void backfill() {
+        if (!enabled || !backfillEnabled) {
+            return;
+        }
+        BookingRollupState state = claimBackfill();
+        if (state == null) {
+            return;
+        }
+
+        String source = state.getSource();
+        String lastId = state.getLastId();
+        for (int batch = 0; batch < maxBatchesPerRun && source != null; batch++) {
+            List<Booking> bookings = mongoTemplate.find(backfillBatch(state.getLiveSince(), lastId), Booking.class,
+                    source);
+            if (bookings.isEmpty()) {
+                int next = SOURCES.indexOf(source) + 1;
+                source = next < SOURCES.size() ? SOURCES.get(next) : null;
+                lastId = null;
+            } else {
+                addBackfillBatch(bookings, source);
+                lastId = bookings.get(bookings.size() - 1).getId();
+            }
+            if (!checkpoint(source, lastId, bookings.size())) {
+                log.warn("Rollup backfill lease lost, another instance continues");
+                return;
+            }
+        }
+        if (source == null) {
+            log.info("📊 Booking rollup backfill finished");
+        }
+    }
+
+    /**
+     * Whether bookings may still be moved by the archiver without being counted twice or missed.
+     */
+    public boolean isBackfillRunning() {
+        if (!enabled || !backfillEnabled) {
+            return false;
+        }
+        BookingRollupState state = state();
+        return state == null || state.getCompletedAt() == null;
+    }
+
+    public Optional<BookingRollupState> backfillState() {
+        return Optional.ofNullable(state());
+    }
+
+    /**
+     * The rollup documents one booking adds to, with what it adds.
+     */
+    static void contribute(Booking booking, String city, BiConsumer<String, RollupDelta> into) {
+        long nights = ChronoUnit.DAYS.between(booking.getStartDate(), booking.getEndDate());
+        Integer leadTime = booking.getCreatedAt() == null ? null : (int) Math.max(0,
+                ChronoUnit.DAYS.between(LocalDate.ofInstant(booking.getCreatedAt(), ZoneOffset.UTC),
+                        booking.getStartDate()));
+
+        into.accept(BookingRollup.hotelKey(booking.getHotelId()),
+                RollupDelta.of(BookingRollup.Kind.HOTEL, nights, leadTime).hotelId(booking.getHotelId(), city));
+        if (city != null) {
+            into.accept(BookingRollup.cityKey(city), RollupDelta.of(BookingRollup.Kind.CITY, nights, leadTime)
+                    .city(city));
+        }
+        if (booking.getCreatedBy() != null) {
+            into.accept(BookingRollup.staffKey(booking.getCreatedBy()),
+                    RollupDelta.of(BookingRollup.Kind.STAFF, nights, leadTime).staffId(booking.getCreatedBy()));
+        }
+        for (LocalDate night = booking.getStartDate(); night.isBefore(booking.getEndDate());
+                night = night.plusDays(1)) {
+            into.accept(BookingRollup.nightKey(booking.getHotelId(), night),
+                    RollupDelta.of(BookingRollup.Kind.NIGHT, 0, null).night(booking.getHotelId(), night));
+        }
+    }
+
+    static String leadTimeBucket(int days) {
+        int lower = 0;
+        for (int bound : LEAD_TIME_BOUNDS) {
+            if (days <= bound) {
+                return lower == bound ? String.valueOf(bound) : lower + "-" + bound;
+            }
+            lower = bound + 1;
+        }
+        return lower + "+";
+    }
+
+    private void addBackfillBatch(List<Booking> bookings, String source) {
+        Map<String, RollupDelta> deltas = new HashMap<>();
+        Map<String, String> cities = new HashMap<>();
+        for (Booking booking : bookings) {
+            String city = cities.computeIfAbsent(booking.getHotelId(), this::cityOf);
+            contribute(booking, city, (id, delta) -> deltas.merge(id, delta, RollupDelta::add));
+        }
+
+        String through = bookings.get(bookings.size() - 1).getId();
+        String marker = "backfilledThrough." + source;
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookingRollup.class);
+        deltas.forEach((id, delta) -> bulk.upsert(
+                query(where("_id").is(id).orOperator(where(marker).exists(false), where(marker).lt(through))),
+                delta.toUpdate().set(marker, through)));
+        try {
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // A document that already has this batch fails the filter, and its upsert collides on _id
+            if (!e.getErrors().stream().allMatch(error -> error.getCode() == DUPLICATE_KEY)) {
+                throw e;
+            }
+        }
+    }
+
+    private Query backfillBatch(Instant liveSince, String lastId) {
+        Criteria older = new Criteria().orOperator(where("createdAt").lt(liveSince), where("createdAt").exists(false));
+        Criteria criteria = lastId == null ? older : new Criteria().andOperator(where("_id").gt(lastId), older);
+        return query(criteria).with(Sort.by("_id")).limit(batchSize);
+    }
+
+    private BookingRollupState claimBackfill() {
+        liveSince();
+        Instant now = Instant.now();
+        Query claimable = query(where("_id").is(BookingRollupState.ID).and("completedAt").is(null)
+                .orOperator(where("leaseUntil").is(null), where("leaseUntil").lt(now),
+                        where("leaseOwner").is(instanceId)));
+        Update claim = new Update().set("leaseOwner", instanceId).set("leaseUntil", now.plus(lease));
+        return mongoTemplate.findAndModify(claimable, claim, FindAndModifyOptions.options().returnNew(true),
+                BookingRollupState.class);
+    }
+
+    private boolean checkpoint(String source, String lastId, int counted) {
+        Instant now = Instant.now();
+        Update update = new Update()
+                .set("source", source)
+                .set("lastId", lastId)
+                .inc("counted", counted)
+                .set("leaseUntil", source == null ? null : now.plus(lease));
+        if (source == null) {
+            update.set("completedAt", now).unset("leaseOwner");
+        }
+        Query owned = query(where("_id").is(BookingRollupState.ID).and("leaseOwner").is(instanceId));
+        return mongoTemplate.updateFirst(owned, update, BookingRollupState.class).getMatchedCount() > 0;
+    }
+
+    private BookingRollupState state() {
+        return mongoTemplate.findById(BookingRollupState.ID, BookingRollupState.class);
+    }
+
+    // The first instance with rollups decides where live counting starts
+    private Instant liveSince() {
+        Instant since = liveSince;
+        if (since != null) {
+            return since;
+        }
+        startLock.lock();
+        try {
+            if (liveSince == null) {
+                Update start = new Update()
+                        .setOnInsert("liveSince", Instant.now())
+                        .setOnInsert("source", SOURCES.get(0))
+                        .setOnInsert("counted", 0L);
+                BookingRollupState state = mongoTemplate.findAndModify(query(where("_id").is(BookingRollupState.ID)),
+                        start, FindAndModifyOptions.options().upsert(true).returnNew(true), BookingRollupState.class);
+                ensureIndexes();
+                liveSince = state.getLiveSince();
+            }
+            return liveSince;
+        } finally {
+            startLock.unlock();
+        }
+    }
+
+    // Rollups have no repository, so their indexes are not created from annotations
+    private void ensureIndexes() {
+        mongoTemplate.indexOps(BookingRollup.class).ensureIndex(new Index()
+                .on("kind", Sort.Direction.ASC)
+                .on("hotelId", Sort.Direction.ASC)
+                .on("night", Sort.Direction.ASC)
+                .named("rollup_hotel_night_idx"));
+        mongoTemplate.indexOps(BookingRollup.class).ensureIndex(new Index()
+                .on("kind", Sort.Direction.ASC)
+                .on("bookings", Sort.Direction.DESC)
+                .named("rollup_kind_bookings_idx"));
+    }
+
+    private String cityOf(String hotelId) {
+        return hotelCache.find(hotelId).map(Hotel::getCity).orElse(null);
+    }
+
+    /**
+     * What one or more bookings add to a rollup document. Only mutated while merged into a map, under its key.
+     */
+    static final class RollupDelta {
+
+        private final BookingRollup.Kind kind;
+        private String hotelId;
+        private String city;
+        private String staffId;
+        private LocalDate night;
+
+        private long bookings;
+        private long nights;
+        private long leadTimeCount;
+        private long leadTimeDaysSum;
+        private Integer leadTimeDaysMin;
+        private Integer leadTimeDaysMax;
+        private final Map<String, Long> leadTimeDays = new TreeMap<>();
+
+        private RollupDelta(BookingRollup.Kind kind) {
+            this.kind = kind;
+        }
+
+        static RollupDelta of(BookingRollup.Kind kind, long nights, Integer leadTime) {
+            RollupDelta delta = new RollupDelta(kind);
+            delta.bookings = 1;
+            delta.nights = nights;
+            if (leadTime != null) {
+                delta.leadTimeCount = 1;
+                delta.leadTimeDaysSum = leadTime;
+                delta.leadTimeDaysMin = leadTime;
+                delta.leadTimeDaysMax = leadTime;
+                delta.leadTimeDays.put(leadTimeBucket(leadTime), 1L);
+            }
+            return delta;
+        }
+
+        RollupDelta hotelId(String hotelId, String city) {
+            this.hotelId = hotelId;
+            this.city = city;
+            return this;
+        }
+
+        RollupDelta city(String city) {
+            this.city = city;
+            return this;
+        }
+
+        RollupDelta staffId(String staffId) {
+            this.staffId = staffId;
+            return this;
+        }
+
+        RollupDelta night(String hotelId, LocalDate night) {
+            this.hotelId = hotelId;
+            this.night = night;
+            return this;
+        }
+
+        RollupDelta add(RollupDelta other) {
+            bookings += other.bookings;
+            nights += other.nights;
+            leadTimeCount += other.leadTimeCount;
+            leadTimeDaysSum += other.leadTimeDaysSum;
+            leadTimeDaysMin = min(leadTimeDaysMin, other.leadTimeDaysMin);
+            leadTimeDaysMax = max(leadTimeDaysMax, other.leadTimeDaysMax);
+            other.leadTimeDays.forEach((bucket, count) -> leadTimeDays.merge(bucket, count, Long::sum));
+            return this;
+        }
+
+        Update toUpdate() {
+            Update update = new Update().setOnInsert("kind", kind).inc("bookings", bookings);
+            setOnInsertIfPresent(update, "hotelId", hotelId);
+            setOnInsertIfPresent(update, "city", city);
+            setOnInsertIfPresent(update, "staffId", staffId);
+            setOnInsertIfPresent(update, "night", night);
+            if (kind == BookingRollup.Kind.NIGHT) {
+                return update;
+            }
+            update.inc("nights", nights);
+            if (leadTimeCount > 0) {
+                update.inc("leadTimeCount", leadTimeCount)
+                        .inc("leadTimeDaysSum", leadTimeDaysSum)
+                        .min("leadTimeDaysMin", leadTimeDaysMin)
+                        .max("leadTimeDaysMax", leadTimeDaysMax);
+                leadTimeDays.forEach((bucket, count) -> update.inc("leadTimeDays." + bucket, count));
+            }
+            return update;
+        }
+
+        private static void setOnInsertIfPresent(Update update, String field, Object value) {
+            if (value != null) {
+                update.setOnInsert(field, value);
+            }
+        }
+
+        private static Integer min(Integer a, Integer b) {
+            if (a == null || b == null) {
+                return a == null ? b : a;
+            }
+            return Math.min(a, b);
+        }
+
+        private static Integer max(Integer a, Integer b) {
+            if (a == null || b == null) {
+                return a == null ? b : a;
+            }
+            return Math.max(a, b);
+        }
+    }
+}
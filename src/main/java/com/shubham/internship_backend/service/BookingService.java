@@ -1,77 +1,322 @@
 package com.shubham.internship_backend.service;
 
+import com.shubham.internship_backend.dto.BookingCursor;
+import com.shubham.internship_backend.dto.BookingPage;
 import com.shubham.internship_backend.dto.BookingRequest;
+import com.shubham.internship_backend.dto.BookingSummary;
+import com.shubham.internship_backend.event.BookingCreatedEvent;
+import com.shubham.internship_backend.event.BookingRemovedEvent;
 import com.shubham.internship_backend.exception.BadRequestException;
 import com.shubham.internship_backend.exception.ConflictException;
 import com.shubham.internship_backend.exception.ResourceNotFoundException;
 import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.EmailOutboxMessage;
+import com.shubham.internship_backend.model.Hotel;
+import com.shubham.internship_backend.observability.BookingMetrics;
+import com.shubham.internship_backend.observability.SampledEventLog;
 import com.shubham.internship_backend.repository.BookingRepository;
-import com.shubham.internship_backend.repository.HotelRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static com.shubham.internship_backend.observability.BookingMetrics.CREATE;
+import static com.shubham.internship_backend.observability.BookingMetrics.LIST;
+import static com.shubham.internship_backend.observability.BookingMetrics.PAGE;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class BookingService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final BookingRepository bookingRepository;
-    private final HotelRepository hotelRepository;
+    private final HotelCache hotelCache;
     private final EmailService emailService;
+    private final BookingCalendarIndex bookingCalendarIndex;
+    private final HotelLockStripes hotelLockStripes;
+    private final BookingNightGuard bookingNightGuard;
+    private final BookingMetrics bookingMetrics;
+    private final SampledEventLog eventLog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BookingWriteBehind bookingWriteBehind;
+    private final BookingArchiver bookingArchiver;
+    private final RoomInventory roomInventory;
 
     public List<Booking> getBookings(String hotelId) {
-        if (!hotelRepository.existsById(hotelId)) {
-            throw new ResourceNotFoundException("Hotel not found with ID: " + hotelId);
+        return bookingMetrics.operation(LIST, () -> {
+            bookingMetrics.stage(LIST, "hotel_lookup", () -> ensureHotelExists(hotelId));
+            return bookingMetrics.stage(LIST, "index_read", () -> bookingCalendarIndex.getBookings(hotelId));
+        });
+    }
+
+    public List<BookingSummary> getBookingSummaries(String hotelId) {
+        return bookingMetrics.operation(LIST, () -> {
+            bookingMetrics.stage(LIST, "hotel_lookup", () -> ensureHotelExists(hotelId));
+            return bookingMetrics.stage(LIST, "index_read", () -> bookingCalendarIndex.getBookings(hotelId).stream()
+                    .map(BookingSummary::of)
+                    .toList());
+        });
+    }
+
+    public BookingPage<Booking> getBookingPage(String hotelId, LocalDate from, LocalDate to, String after,
+            int limit) {
+        return bookingMetrics.operation(PAGE, () -> findBookingPage(hotelId, from, to, after, limit,
+                bookingRepository::findPage, bookingRepository::findArchivedPage, BookingCursor::of));
+    }
+
+    public BookingPage<BookingSummary> getBookingSummaryPage(String hotelId, LocalDate from, LocalDate to,
+            String after, int limit) {
+        return bookingMetrics.operation(PAGE, () -> findBookingPage(hotelId, from, to, after, limit,
+                bookingRepository::findSummaryPage, bookingRepository::findArchivedSummaryPage, BookingCursor::of));
+    }
+
+    private <T> BookingPage<T> findBookingPage(String hotelId, LocalDate from, LocalDate to, String after, int limit,
+            PageQuery<T> pageQuery, PageQuery<T> archiveQuery, Function<T, BookingCursor> position) {
+        bookingMetrics.stage(PAGE, "hotel_lookup", () -> ensureHotelExists(hotelId));
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        BookingCursor cursor = after != null ? BookingCursor.decode(after) : null;
+        // Fetch one extra row to learn whether another page follows
+        List<T> bookings = bookingMetrics.stage(PAGE, "query",
+                () -> pageQuery.find(hotelId, from, to, cursor, limit + 1));
+        if (bookingArchiver.mayBeArchived(from)) {
+            List<T> archived = bookingMetrics.stage(PAGE, "archive_query",
+                    () -> archiveQuery.find(hotelId, from, to, cursor, limit + 1));
+            bookings = merge(bookings, archived, position, limit + 1);
         }
-        return bookingRepository.findByHotelIdOrderByStartDateAsc(hotelId);
+        if (bookings.size() <= limit) {
+            return new BookingPage<>(bookings, null);
+        }
+        List<T> page = bookings.subList(0, limit);
+        return new BookingPage<>(page, position.apply(page.get(limit - 1)).encode());
+    }
+
+    /**
+     * Streams a hotel's bookings from a Mongo cursor. The caller must close the stream.
+     */
+    public Stream<Booking> streamBookings(String hotelId, LocalDate from, LocalDate to) {
+        ensureHotelExists(hotelId);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        Stream<Booking> live = bookingRepository.streamBookings(hotelId, from, to);
+        if (!bookingArchiver.mayBeArchived(from)) {
+            return live;
+        }
+        Stream<Booking> archived;
+        try {
+            archived = bookingRepository.streamArchivedBookings(hotelId, from, to);
+        } catch (RuntimeException e) {
+            live.close();
+            throw e;
+        }
+        return mergeSorted(archived, live);
+    }
+
+    // A booking caught between copy and delete by the archiver is in both lists, keep it once
+    private static <T> List<T> merge(List<T> live, List<T> archived, Function<T, BookingCursor> position,
+            int limit) {
+        TreeMap<BookingCursor, T> merged = new TreeMap<>(BookingCursor.ORDER);
+        live.forEach(booking -> merged.put(position.apply(booking), booking));
+        archived.forEach(booking -> merged.putIfAbsent(position.apply(booking), booking));
+        return merged.values().stream().limit(limit).toList();
+    }
+
+    /**
+     * Interleaves two streams that are each ordered by {@code (startDate, id)}, reading both lazily.
+     */
+    private static Stream<Booking> mergeSorted(Stream<Booking> first, Stream<Booking> second) {
+        Iterator<Booking> a = first.iterator();
+        Iterator<Booking> b = second.iterator();
+        Iterator<Booking> merged = new Iterator<>() {
+            private Booking nextA = a.hasNext() ? a.next() : null;
+            private Booking nextB = b.hasNext() ? b.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextA != null || nextB != null;
+            }
+
+            @Override
+            public Booking next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int order = nextA == null ? 1
+                        : nextB == null ? -1
+                        : BookingCursor.ORDER.compare(BookingCursor.of(nextA), BookingCursor.of(nextB));
+                Booking result = order <= 0 ? nextA : nextB;
+                if (order <= 0) {
+                    nextA = a.hasNext() ? a.next() : null;
+                }
+                if (order >= 0) {
+                    nextB = b.hasNext() ? b.next() : null;
+                }
+                return result;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try (first) {
+                        second.close();
+                    }
+                });
     }
 
     public Booking createBooking(String hotelId, String createdBy, BookingRequest request) {
-        log.info("Attempting to create booking by user: {} at hotel: {}", createdBy, hotelId);
+        return bookingMetrics.operation(CREATE, () -> doCreateBooking(hotelId, createdBy, request));
+    }
 
+    private Booking doCreateBooking(String hotelId, String createdBy, BookingRequest request) {
         // 0. Validate Hotel Exists
-        if (!hotelRepository.existsById(hotelId)) {
-            throw new ResourceNotFoundException("Hotel not found with ID: " + hotelId);
-        }
+        Hotel hotel = bookingMetrics.stage(CREATE, "hotel_lookup", () -> findHotel(hotelId));
 
         // 1. Invalid Date Range Conflict
         if (!request.getStartDate().isBefore(request.getEndDate())) {
             throw new BadRequestException("Start date must be before end date");
         }
-
-        // 2. Date Overlap Conflict
-        List<Booking> conflicts = bookingRepository.findConflictingBookings(
-                hotelId,
-                request.getStartDate(),
-                request.getEndDate());
-
-        if (!conflicts.isEmpty()) {
-            log.warn("Booking conflict detected for hotel: {} dates: {} - {}", hotelId, request.getStartDate(),
-                    request.getEndDate());
-            throw new ConflictException("Booking dates overlap with existing booking");
-        }
-
-        // 3. Create and Save Booking
+        String roomType = RoomInventory.roomTypeFor(hotel, request.getRoomType());
         Booking booking = Booking.builder()
+                .id(new ObjectId().toHexString())
                 .hotelId(hotelId)
                 .createdBy(createdBy)
                 .guestName(request.getGuestName())
                 .guestEmail(request.getGuestEmail())
+                .roomType(roomType)
                 .startDate(request.getStartDate())
                 .endDate(request.getEndDate())
                 .createdAt(Instant.now())
                 .build();
 
-        Booking savedBooking = bookingRepository.save(booking);
-        log.info("Booking created successfully with ID: {}", savedBooking.getId());
+        // 2. Queue the notification first, so a booking is never acknowledged without one
+        EmailOutboxMessage notification = bookingMetrics.stage(CREATE, "email_enqueue",
+                () -> emailService.queueBookingNotification(booking));
 
-        // 4. Notify
-        emailService.sendBookingNotification(savedBooking);
+        // 3. Admit under the hotel's lock so check and save cannot interleave
+        final Booking savedBooking;
+        try {
+            CompletableFuture<Booking> admitted;
+            Lock lock = hotelLockStripes.lockFor(hotelId);
+            bookingMetrics.stage(CREATE, "lock_wait", lock::lock);
+            try {
+                admitted = admit(booking, RoomInventory.capacityOf(hotel, roomType));
+            } finally {
+                lock.unlock();
+            }
+            // Write-behind: wait for the group commit outside the lock
+            savedBooking = bookingMetrics.stage(CREATE, "commit_wait", () -> awaitCommit(admitted));
+        } catch (RuntimeException e) {
+            emailService.discard(notification);
+            throw e;
+        }
+        eventPublisher.publishEvent(new BookingCreatedEvent(savedBooking));
+        eventLog.event("booking.created", "bookingId", savedBooking.getId(), "hotelId", hotelId,
+                "createdBy", createdBy, "nights", request.getStartDate().until(request.getEndDate()).getDays());
 
         return savedBooking;
     }
+
+    private CompletableFuture<Booking> admit(Booking booking, int capacity) {
+        // Room Availability Conflict: take a room on every night, or none
+        boolean reserved = bookingMetrics.stage(CREATE, "conflict_check",
+                () -> roomInventory.tryReserve(booking, capacity));
+        if (!reserved) {
+            eventLog.event("booking.conflict", "hotelId", booking.getHotelId(), "roomType", booking.getRoomType(),
+                    "startDate", booking.getStartDate(), "endDate", booking.getEndDate());
+            throw new ConflictException("Booking dates overlap with existing booking");
+        }
+
+        if (bookingWriteBehind.isEnabled()) {
+            // The calendar is authoritative: later requests see the booking before it is written
+            bookingCalendarIndex.add(booking);
+            CompletableFuture<Booking> written;
+            try {
+                written = bookingWriteBehind.submit(booking, capacity);
+            } catch (RuntimeException e) {
+                bookingCalendarIndex.remove(booking);
+                roomInventory.release(booking);
+                eventPublisher.publishEvent(new BookingRemovedEvent(booking));
+                throw e;
+            }
+            return written.whenComplete((saved, e) -> {
+                if (e != null) {
+                    // Write-behind has taken it back out of the calendar
+                    roomInventory.release(booking);
+                    eventPublisher.publishEvent(new BookingRemovedEvent(booking));
+                }
+            });
+        }
+
+        // In the calendar before it is written, so this instance's change-stream echo is not counted again
+        bookingCalendarIndex.add(booking);
+        // Claim the nights in Mongo, guarding against writes from other instances
+        Booking savedBooking;
+        try {
+            bookingMetrics.stage(CREATE, "night_reserve", () -> bookingNightGuard.reserve(booking, capacity));
+            try {
+                // Save Booking
+                savedBooking = bookingMetrics.stage(CREATE, "save", () -> bookingRepository.save(booking));
+            } catch (RuntimeException e) {
+                bookingNightGuard.release(booking.getId());
+                throw e;
+            }
+        } catch (RuntimeException e) {
+            bookingCalendarIndex.remove(booking);
+            roomInventory.release(booking);
+            eventPublisher.publishEvent(new BookingRemovedEvent(booking));
+            throw e;
+        }
+        return CompletableFuture.completedFuture(savedBooking);
+    }
+
+    private static Booking awaitCommit(CompletableFuture<Booking> admitted) {
+        try {
+            return admitted.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the booking to be written", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @FunctionalInterface
+    private interface PageQuery<T> {
+        List<T> find(String hotelId, LocalDate from, LocalDate to, BookingCursor after, int limit);
+    }
+
+    private void ensureHotelExists(String hotelId) {
+        findHotel(hotelId);
+    }
+
+    private Hotel findHotel(String hotelId) {
+        return hotelCache.find(hotelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with ID: " + hotelId));
+    }
 }
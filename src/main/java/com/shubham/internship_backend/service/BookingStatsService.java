@@ -0,0 +1,117 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.dto.BookingStats;
+import com.shubham.internship_backend.dto.HotelStats;
+import com.shubham.internship_backend.dto.StatsOverview;
+import com.shubham.internship_backend.exception.BadRequestException;
+import com.shubham.internship_backend.exception.ResourceNotFoundException;
+import com.shubham.internship_backend.model.BookingRollup;
+import com.shubham.internship_backend.model.Hotel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Reads the booking rollups. Every answer is a lookup by id or an index range of at most a year of nights,
+ * however many bookings there are.
+ */
+@Service
+@RequiredArgsConstructor
+public class BookingStatsService {
+
+    public static final int MAX_WINDOW_DAYS = 366;
+    public static final int DEFAULT_WINDOW_DAYS = 30;
+    public static final int MAX_LIMIT = 100;
+
+    private final MongoTemplate mongoTemplate;
+    private final HotelCache hotelCache;
+    private final BookingRollups bookingRollups;
+
+    public StatsOverview getOverview() {
+        StatsOverview.Backfill backfill = bookingRollups.backfillState()
+                .map(state -> new StatsOverview.Backfill(state.getLiveSince(), state.getSource(), state.getCounted(),
+                        state.getCompletedAt()))
+                .orElse(null);
+        return new StatsOverview(backfill, top(BookingRollup.Kind.CITY, MAX_LIMIT), getTopStaff(20));
+    }
+
+    public HotelStats getHotelStats(String hotelId, LocalDate from, LocalDate to) {
+        Hotel hotel = hotelCache.find(hotelId)
+                .orElseThrow(() -> new ResourceNotFoundException("Hotel not found with ID: " + hotelId));
+        LocalDate start = from != null ? from : LocalDate.now();
+        LocalDate end = to != null ? to : start.plusDays(DEFAULT_WINDOW_DAYS);
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        long days = ChronoUnit.DAYS.between(start, end);
+        if (days > MAX_WINDOW_DAYS) {
+            throw new BadRequestException("Date range must not exceed " + MAX_WINDOW_DAYS + " days");
+        }
+
+        BookingRollup totals = mongoTemplate.findById(BookingRollup.hotelKey(hotelId), BookingRollup.class);
+        Query nightsQuery = query(where("kind").is(BookingRollup.Kind.NIGHT).and("hotelId").is(hotelId)
+                .and("night").gte(start).lt(end))
+                .with(Sort.by("night"));
+        List<BookingRollup> nights = mongoTemplate.find(nightsQuery, BookingRollup.class);
+
+        int rooms = roomsOf(hotel);
+        long roomNights = nights.stream().mapToLong(BookingRollup::getBookings).sum();
+        List<HotelStats.Night> booked = nights.stream()
+                .map(night -> new HotelStats.Night(night.getNight(), night.getBookings(),
+                        (double) night.getBookings() / rooms))
+                .toList();
+        BookingStats hotelTotals = totals != null ? BookingStats.of(totals)
+                : BookingStats.of(BookingRollup.builder().hotelId(hotelId).city(hotel.getCity()).build());
+        return new HotelStats(hotelTotals, start, end, rooms, roomNights, (double) roomNights / (rooms * days),
+                booked);
+    }
+
+    public BookingStats getCityStats(String city) {
+        return find(BookingRollup.cityKey(city), "No bookings counted for city: " + city);
+    }
+
+    public BookingStats getStaffStats(String staffId) {
+        return find(BookingRollup.staffKey(staffId), "No bookings counted for staff member: " + staffId);
+    }
+
+    public List<BookingStats> getTopStaff(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new BadRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        return top(BookingRollup.Kind.STAFF, limit);
+    }
+
+    private BookingStats find(String id, String notFound) {
+        BookingRollup rollup = mongoTemplate.findById(id, BookingRollup.class);
+        if (rollup == null) {
+            throw new ResourceNotFoundException(notFound);
+        }
+        return BookingStats.of(rollup);
+    }
+
+    private List<BookingStats> top(BookingRollup.Kind kind, int limit) {
+        Query byBookings = query(where("kind").is(kind))
+                .with(Sort.by(Sort.Direction.DESC, "bookings"))
+                .limit(limit);
+        return mongoTemplate.find(byBookings, BookingRollup.class).stream().map(BookingStats::of).toList();
+    }
+
+    // Hotels without room types are booked as a single room
+    private static int roomsOf(Hotel hotel) {
+        Map<String, Integer> roomTypes = hotel.getRoomTypes();
+        if (roomTypes == null || roomTypes.isEmpty()) {
+            return 1;
+        }
+        return Math.max(1, roomTypes.values().stream().mapToInt(Integer::intValue).sum());
+    }
+}
@@ -0,0 +1,303 @@
+package com.shubham.internship_backend.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.WriteConcern;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import com.shubham.internship_backend.exception.ConflictException;
+import com.shubham.internship_backend.exception.ServiceUnavailableException;
+import com.shubham.internship_backend.model.Booking;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional write-behind mode for booking admission ({@code app.write-behind.enabled}).
+ * <p>
+ * Bookings admitted against {@link RoomInventory} are queued instead of written one by one. A single
+ * writer claims the nights of up to {@code max-batch} bookings with one bulk write and then saves the bookings
+ * with one {@code insertMany}, at least every {@code flush-interval}. Each caller's future completes when its
+ * group is durable. A booking that could not be written is taken back out of the calendar.
+ * <p>
+ * When the queue is full, new bookings are refused with 503 instead of piling up in memory. On shutdown the
+ * queue stops accepting and everything already queued is flushed before the writer exits.
+ */
+@Component
+@Slf4j
+public class BookingWriteBehind {
+
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final BookingNightGuard bookingNightGuard;
+    private final BookingCalendarIndex bookingCalendarIndex;
+
+    private final boolean enabled;
+    private final int maxBatch;
+    private final Duration flushInterval;
+    private final WriteConcern writeConcern;
+
+    private final BlockingQueue<PendingBooking> queue;
+    // Queued or being written; guarded by itself where the calendar must agree with the outcome
+    private final Set<PendingBooking> unwritten = ConcurrentHashMap.newKeySet();
+    private final Timer flushTimer;
+    private final DistributionSummary batchSize;
+
+    private Thread writer;
+    private volatile boolean accepting;
+
+    public BookingWriteBehind(MongoTemplate mongoTemplate,
+            BookingNightGuard bookingNightGuard,
+            BookingCalendarIndex bookingCalendarIndex,
+            MeterRegistry meterRegistry,
+            @Value("${app.write-behind.enabled:false}") boolean enabled,
+            @Value("${app.write-behind.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.write-behind.max-batch:500}") int maxBatch,
+            @Value("${app.write-behind.flush-interval:PT0.005S}") Duration flushInterval,
+            @Value("${app.write-behind.write-concern:MAJORITY}") String writeConcern) {
+        this.mongoTemplate = mongoTemplate;
+        this.bookingNightGuard = bookingNightGuard;
+        this.bookingCalendarIndex = bookingCalendarIndex;
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.flushInterval = flushInterval;
+        this.writeConcern = WriteConcern.valueOf(writeConcern);
+        if (this.writeConcern == null) {
+            throw new IllegalArgumentException("Unknown write concern: " + writeConcern);
+        }
+
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        meterRegistry.gaugeCollectionSize("booking.write_behind.queue.size", List.of(), queue);
+        this.flushTimer = Timer.builder("booking.write_behind.flush")
+                .description("Time to claim nights and insert one group of bookings")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("booking.write_behind.batch.size")
+                .description("Bookings per group commit")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        accepting = true;
+        writer = new Thread(this::run, "booking-write-behind");
+        writer.start();
+        log.info("📝 Booking write-behind enabled (max batch {}, flush every {}, write concern {})", maxBatch,
+                flushInterval, writeConcern);
+    }
+
+    /**
+     * Queues an admitted booking that is already in the calendar.
+     *
+     * @param capacity rooms of the booking's room type, checked again against {@code booking_nights}
+     * @return completes with the booking once it is written, or with the reason it was not
+     * @throws ServiceUnavailableException when the queue is full or shutting down
+     */
+    public CompletableFuture<Booking> submit(Booking booking, int capacity) {
+        PendingBooking pending = new PendingBooking(booking, capacity, new CompletableFuture<>());
+        unwritten.add(pending);
+        if (!accepting || !queue.offer(pending)) {
+            unwritten.remove(pending);
+            throw new ServiceUnavailableException("Booking queue is full, please retry", RETRY_AFTER);
+        }
+        pending.result().whenComplete((written, failure) -> unwritten.remove(pending));
+        return pending.result();
+    }
+
+    /**
+     * Puts bookings that are not written yet back into the calendar after it was reloaded from Mongo,
+     * which does not have them. Written ones come back through the change stream anyway.
+     */
+    public void restoreUnwritten() {
+        synchronized (unwritten) {
+            for (PendingBooking pending : unwritten) {
+                if (!pending.result().isCompletedExceptionally()) {
+                    bookingCalendarIndex.apply(pending.booking());
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting and waits until every queued booking has been written.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        accepting = false;
+        writer.join();
+        log.info("📝 Booking write-behind drained");
+    }
+
+    private void run() {
+        List<PendingBooking> batch = new ArrayList<>(maxBatch);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // Only shutdown() stops the writer, and it waits for the queue to drain
+                log.warn("Booking write-behind interrupted, continuing until drained");
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+
+            try {
+                flushTimer.record(() -> flush(batch));
+            } catch (RuntimeException e) {
+                log.error("Booking group commit failed", e);
+                List<String> failed = new ArrayList<>();
+                for (PendingBooking pending : batch) {
+                    if (fail(pending, e)) {
+                        failed.add(pending.booking().getId());
+                    }
+                }
+                releaseQuietly(failed);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Blocks briefly for a first booking, then gives the group up to the flush interval to fill
+    private void collect(List<PendingBooking> batch) throws InterruptedException {
+        PendingBooking first = queue.poll(100, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (batch.size() < maxBatch) {
+            long remaining = deadline - System.nanoTime();
+            PendingBooking next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingBooking> batch) {
+        batchSize.record(batch.size());
+        List<Booking> bookings = batch.stream().map(PendingBooking::booking).toList();
+        Map<String, Integer> capacities = new HashMap<>();
+        batch.forEach(pending -> capacities.put(pending.booking().getId(), pending.capacity()));
+
+        // Other instances may have taken the last rooms, only this instance's inventory was checked
+        Set<String> rejected = bookingNightGuard.reserveAll(bookings,
+                booking -> capacities.get(booking.getId()));
+        List<PendingBooking> admitted = new ArrayList<>(batch.size());
+        for (PendingBooking pending : batch) {
+            if (rejected.contains(pending.booking().getId())) {
+                fail(pending, new ConflictException("Booking dates overlap with existing booking"));
+            } else {
+                admitted.add(pending);
+            }
+        }
+        if (admitted.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, RuntimeException> failures = insert(admitted);
+        List<String> released = new ArrayList<>();
+        for (int i = 0; i < admitted.size(); i++) {
+            PendingBooking pending = admitted.get(i);
+            RuntimeException failure = failures.get(i);
+            if (failure == null) {
+                pending.result().complete(pending.booking());
+            } else {
+                released.add(pending.booking().getId());
+                fail(pending, failure);
+            }
+        }
+        if (!released.isEmpty()) {
+            bookingNightGuard.releaseAll(released);
+        }
+    }
+
+    /**
+     * @return failures by position in {@code admitted}; empty when every booking was written
+     */
+    private Map<Integer, RuntimeException> insert(List<PendingBooking> admitted) {
+        List<Document> documents = new ArrayList<>(admitted.size());
+        for (PendingBooking pending : admitted) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(pending.booking(), document);
+            documents.add(document);
+        }
+
+        Map<Integer, RuntimeException> failures = new HashMap<>();
+        try {
+            mongoTemplate.getCollection(mongoTemplate.getCollectionName(Booking.class))
+                    .withWriteConcern(writeConcern)
+                    .insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            if (e.getWriteConcernError() != null) {
+                // The documents are on the primary, only the requested acknowledgement is missing
+                log.warn("Booking group written without write concern {}: {}", writeConcern,
+                        e.getWriteConcernError().getMessage());
+            }
+            for (BulkWriteError error : e.getWriteErrors()) {
+                failures.put(error.getIndex(), new IllegalStateException(error.getMessage()));
+            }
+        } catch (RuntimeException e) {
+            for (int i = 0; i < admitted.size(); i++) {
+                failures.put(i, e);
+            }
+        }
+        return failures;
+    }
+
+    // Only the writer thread completes results. The calendar is updated first so callbacks see it without the booking.
+    private boolean fail(PendingBooking pending, RuntimeException cause) {
+        if (pending.result().isDone()) {
+            return false; // already written
+        }
+        synchronized (unwritten) {
+            bookingCalendarIndex.remove(pending.booking());
+            return pending.result().completeExceptionally(cause);
+        }
+    }
+
+    private void releaseQuietly(List<String> bookingIds) {
+        if (bookingIds.isEmpty()) {
+            return;
+        }
+        try {
+            bookingNightGuard.releaseAll(bookingIds);
+        } catch (RuntimeException e) {
+            log.error("Failed to release nights of {} unwritten bookings", bookingIds.size(), e);
+        }
+    }
+
+    private record PendingBooking(Booking booking, int capacity, CompletableFuture<Booking> result) {
+    }
+}
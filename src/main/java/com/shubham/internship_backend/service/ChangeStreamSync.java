@@ -0,0 +1,304 @@
+package com.shubham.internship_backend.service;
+
+import com.mongodb.MongoException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.shubham.internship_backend.event.BookingReplicatedEvent;
+import com.shubham.internship_backend.event.BookingsResyncedEvent;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.ChangeStreamCheckpoint;
+import com.shubham.internship_backend.model.Hotel;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tails the {@code bookings} and {@code hotels} collections through a MongoDB change stream and applies
+ * every insert, update and delete to this instance's {@link BookingCalendarIndex} and {@link HotelCache},
+ * including writes made by other replicas.
+ * <p>
+ * The resume token is checkpointed in {@code change_stream_checkpoints}, so a restart or reconnect picks up
+ * where it left off. Replaying a few events twice is harmless since every change is applied idempotently.
+ * If the token has fallen off the oplog, the in-memory state is reloaded from scratch instead.
+ */
+@Component
+@Slf4j
+public class ChangeStreamSync {
+
+    // ChangeStreamFatalError, ChangeStreamHistoryLost: the resume token is no longer in the oplog
+    private static final Set<Integer> HISTORY_LOST = Set.of(280, 286);
+    // The deployment is not a replica set
+    private static final int CHANGE_STREAMS_UNSUPPORTED = 40573;
+
+    private static final String BOOKINGS = "bookings";
+    private static final String HOTELS = "hotels";
+
+    private final MongoTemplate mongoTemplate;
+    private final BookingCalendarIndex bookingCalendarIndex;
+    private final HotelCache hotelCache;
+    private final BookingWriteBehind bookingWriteBehind;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    private final boolean enabled;
+    private final String consumerId;
+    private final Duration checkpointInterval;
+    private final Duration retryDelay;
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private BsonDocument resumeToken;
+    private Instant lastCheckpoint = Instant.EPOCH;
+    private boolean supported = true;
+    private Thread worker;
+    private volatile boolean running;
+
+    public ChangeStreamSync(MongoTemplate mongoTemplate,
+            BookingCalendarIndex bookingCalendarIndex,
+            HotelCache hotelCache,
+            BookingWriteBehind bookingWriteBehind,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.change-stream.enabled:true}") boolean enabled,
+            @Value("${app.change-stream.consumer-id:${HOSTNAME:local}}") String consumerId,
+            @Value("${app.change-stream.checkpoint-interval:PT1S}") Duration checkpointInterval,
+            @Value("${app.change-stream.retry-delay:PT5S}") Duration retryDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.bookingCalendarIndex = bookingCalendarIndex;
+        this.hotelCache = hotelCache;
+        this.bookingWriteBehind = bookingWriteBehind;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.consumerId = consumerId;
+        this.checkpointInterval = checkpointInterval;
+        this.retryDelay = retryDelay;
+    }
+
+    /**
+     * Opens the stream before the index and cache warm up, so no write can fall between their snapshot
+     * and the first event. Events are only applied once the application is ready.
+     */
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void open() {
+        if (!enabled) {
+            log.info("⏭️ Change stream sync disabled, other instances' writes will not be seen until restart");
+            return;
+        }
+        ChangeStreamCheckpoint checkpoint = mongoTemplate.findById(consumerId, ChangeStreamCheckpoint.class);
+        resumeToken = checkpoint != null ? BsonDocument.parse(checkpoint.getResumeToken()) : null;
+        try {
+            cursor = openCursor();
+        } catch (MongoException e) {
+            if (HISTORY_LOST.contains(e.getCode())) {
+                // Nothing is loaded yet, so starting from now loses nothing
+                log.warn("Change stream checkpoint for {} expired, starting from now", consumerId);
+                resumeToken = null;
+                cursor = openCursor();
+            } else if (e.getCode() == CHANGE_STREAMS_UNSUPPORTED) {
+                log.error("Change streams need a replica set, change stream sync disabled");
+                supported = false;
+            } else {
+                log.warn("Could not open change stream, retrying once started: {}", e.getMessage());
+            }
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || !supported) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "change-stream-sync");
+        worker.setDaemon(true);
+        worker.start();
+        log.info("🔄 Change stream sync started for {}", consumerId);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (cursor == null) {
+                    cursor = openCursor();
+                }
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (change != null) {
+                    apply(change);
+                }
+                updateResumeToken(cursor);
+                checkpoint(false);
+            } catch (MongoException e) {
+                closeCursor();
+                if (HISTORY_LOST.contains(e.getCode())) {
+                    resync();
+                } else if (e.getCode() == CHANGE_STREAMS_UNSUPPORTED) {
+                    log.error("Change streams need a replica set, stopping change stream sync", e);
+                    running = false;
+                } else {
+                    log.warn("Change stream failed, reopening in {}: {}", retryDelay, e.getMessage());
+                    sleep(retryDelay);
+                }
+            } catch (RuntimeException e) {
+                // A change that cannot be applied must not stop the stream
+                log.error("Failed to apply change stream event", e);
+            }
+        }
+        checkpoint(true);
+        closeCursor();
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> openCursor() {
+        ChangeStreamIterable<Document> stream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", BOOKINGS, HOTELS))), Document.class)
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .maxAwaitTime(1, TimeUnit.SECONDS);
+        if (resumeToken != null) {
+            stream = stream.resumeAfter(resumeToken);
+        }
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = stream.cursor();
+        updateResumeToken(opened);
+        return opened;
+    }
+
+    private void updateResumeToken(MongoChangeStreamCursor<ChangeStreamDocument<Document>> source) {
+        // Null until the server reports a position, keep the last known one meanwhile
+        BsonDocument token = source.getResumeToken();
+        if (token != null) {
+            resumeToken = token;
+        }
+    }
+
+    private void apply(ChangeStreamDocument<Document> change) {
+        String collection = change.getNamespace() != null ? change.getNamespace().getCollectionName() : null;
+        meterRegistry.counter("change.stream.events",
+                "collection", String.valueOf(collection),
+                "operation", change.getOperationType().getValue()).increment();
+
+        switch (change.getOperationType()) {
+            case INSERT, UPDATE, REPLACE -> {
+                Document fullDocument = change.getFullDocument();
+                if (fullDocument == null) {
+                    // Deleted again before the update could be looked up, its delete event follows
+                    return;
+                }
+                if (BOOKINGS.equals(collection)) {
+                    applyBooking(mongoTemplate.getConverter().read(Booking.class, fullDocument));
+                } else {
+                    hotelCache.put(mongoTemplate.getConverter().read(Hotel.class, fullDocument));
+                }
+            }
+            case DELETE -> {
+                String id = idOf(change.getDocumentKey().get("_id"));
+                if (BOOKINGS.equals(collection)) {
+                    Booking previous = bookingCalendarIndex.removeById(id);
+                    if (previous != null) {
+                        eventPublisher.publishEvent(new BookingReplicatedEvent(previous, null));
+                    }
+                } else {
+                    hotelCache.evict(id);
+                }
+            }
+            case DROP, RENAME, DROP_DATABASE, INVALIDATE -> {
+                closeCursor();
+                resync();
+            }
+            default -> {
+                // Index builds and other DDL do not change documents
+            }
+        }
+    }
+
+    private void applyBooking(Booking booking) {
+        Booking previous = bookingCalendarIndex.apply(booking);
+        if (previous == null || !BookingCalendarIndex.sameStay(previous, booking)) {
+            eventPublisher.publishEvent(new BookingReplicatedEvent(previous, booking));
+        }
+    }
+
+    /**
+     * Opens a fresh stream first, then reloads, so changes made during the reload are replayed afterwards.
+     * Bookings still queued for write-behind are not in Mongo yet, so they are put back after the reload.
+     */
+    private void resync() {
+        log.warn("🔄 Change stream cannot be resumed, reloading bookings and hotels");
+        meterRegistry.counter("change.stream.resyncs").increment();
+        resumeToken = null;
+        cursor = openCursor();
+        checkpoint(true);
+        bookingCalendarIndex.reload();
+        bookingWriteBehind.restoreUnwritten();
+        hotelCache.reload();
+        eventPublisher.publishEvent(new BookingsResyncedEvent());
+    }
+
+    private void checkpoint(boolean force) {
+        Instant now = Instant.now();
+        if (resumeToken == null || (!force && now.isBefore(lastCheckpoint.plus(checkpointInterval)))) {
+            return;
+        }
+        try {
+            mongoTemplate.save(ChangeStreamCheckpoint.builder()
+                    .id(consumerId)
+                    .resumeToken(resumeToken.toJson())
+                    .updatedAt(now)
+                    .build());
+            lastCheckpoint = now;
+        } catch (RuntimeException e) {
+            log.warn("Failed to checkpoint change stream for {}: {}", consumerId, e.getMessage());
+        }
+    }
+
+    private void closeCursor() {
+        if (cursor != null) {
+            try {
+                cursor.close();
+            } catch (RuntimeException ignored) {
+                // The server side is gone already
+            }
+            cursor = null;
+        }
+    }
+
+    private static String idOf(BsonValue id) {
+        return id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue();
+    }
+
+    private static void sleep(Duration delay) {
+        try {
+            Thread.sleep(delay.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
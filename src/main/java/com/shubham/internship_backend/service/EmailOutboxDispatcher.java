@@ -0,0 +1,277 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.EmailOutboxMessage;
+import com.shubham.internship_backend.model.EmailOutboxMessage.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Drains {@code email_outbox} with a fixed number of workers. A batch is only claimed when
+ * a worker is free, so a slow SMTP server backs up in Mongo rather than in memory.
+ * Claims are leased: if an instance dies mid-send, its messages become due again.
+ * <p>
+ * Booking notifications are queued before their bookings are written. One whose bookings do not exist yet is
+ * held back, and dropped once {@code booking-wait} has passed without any of them being written.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private final MongoTemplate mongoTemplate;
+    private final EmailOutboxSender emailOutboxSender;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration lease;
+    private final Duration bookingWait;
+
+    private final ExecutorService workers;
+    private final Semaphore idleWorkers;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final Timer deliveryLatency;
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Counter dropped;
+
+    public EmailOutboxDispatcher(MongoTemplate mongoTemplate,
+            EmailOutboxSender emailOutboxSender,
+            MeterRegistry meterRegistry,
+            Environment environment,
+            @Value("${app.email-outbox.workers:2}") int workerCount,
+            @Value("${app.email-outbox.batch-size:20}") int batchSize,
+            @Value("${app.email-outbox.max-attempts:8}") int maxAttempts,
+            @Value("${app.email-outbox.initial-backoff:PT5S}") Duration initialBackoff,
+            @Value("${app.email-outbox.max-backoff:PT30M}") Duration maxBackoff,
+            @Value("${app.email-outbox.lease:PT2M}") Duration lease,
+            @Value("${app.email-outbox.booking-wait:PT5M}") Duration bookingWait) {
+        this.mongoTemplate = mongoTemplate;
+        this.emailOutboxSender = emailOutboxSender;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.lease = lease;
+        this.bookingWait = bookingWait;
+
+        // SMTP concurrency stays bounded either way; virtual threads just make the blocking cheap
+        ThreadFactory threadFactory = Threading.VIRTUAL.isActive(environment)
+                ? new VirtualThreadTaskExecutor("email-outbox-").getVirtualThreadFactory()
+                : runnable -> {
+                    Thread thread = new Thread(runnable, "email-outbox");
+                    thread.setDaemon(true);
+                    return thread;
+                };
+        this.workers = Executors.newFixedThreadPool(workerCount, threadFactory);
+        this.idleWorkers = new Semaphore(workerCount);
+
+        meterRegistry.gauge("email.outbox.depth", depth);
+        this.deliveryLatency = Timer.builder("email.outbox.delivery.latency")
+                .description("Time from queueing to SMTP delivery")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.sent = meterRegistry.counter("email.outbox.messages", "outcome", "sent");
+        this.retried = meterRegistry.counter("email.outbox.messages", "outcome", "retried");
+        this.failed = meterRegistry.counter("email.outbox.messages", "outcome", "failed");
+        this.dropped = meterRegistry.counter("email.outbox.messages", "outcome", "dropped");
+    }
+
+    @Scheduled(fixedDelayString = "${app.email-outbox.poll-interval:PT1S}")
+    public void poll() {
+        while (idleWorkers.tryAcquire()) {
+            List<EmailOutboxMessage> batch;
+            try {
+                batch = claimBatch();
+            } catch (RuntimeException e) {
+                // The permit must come back, or every failed claim would retire a worker for good
+                idleWorkers.release();
+                throw e;
+            }
+            if (batch.isEmpty()) {
+                idleWorkers.release();
+                break;
+            }
+            try {
+                workers.execute(() -> {
+                    try {
+                        deliver(batch);
+                    } finally {
+                        idleWorkers.release();
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                // Shutting down, the lease hands the batch to the next poll
+                idleWorkers.release();
+                break;
+            }
+        }
+        depth.set(mongoTemplate.count(query(where("status").is(Status.PENDING)), EmailOutboxMessage.class));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        workers.shutdown();
+        workers.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        Instant now = Instant.now();
+        Criteria due = new Criteria().orOperator(
+                where("status").is(Status.PENDING).and("nextAttemptAt").lte(now),
+                where("status").is(Status.SENDING).and("leaseUntil").lt(now));
+
+        Query candidates = query(due).with(Sort.by("nextAttemptAt")).limit(batchSize);
+        candidates.fields().include("id");
+        List<String> ids = mongoTemplate.find(candidates, EmailOutboxMessage.class).stream()
+                .map(EmailOutboxMessage::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Re-check the due condition so that two instances cannot claim the same message
+        String claimToken = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+                query(new Criteria().andOperator(where("id").in(ids), due)),
+                new Update()
+                        .set("status", Status.SENDING)
+                        .set("leaseUntil", now.plus(lease))
+                        .set("claimToken", claimToken),
+                EmailOutboxMessage.class);
+        return mongoTemplate.find(query(where("claimToken").is(claimToken)), EmailOutboxMessage.class);
+    }
+
+    private void deliver(List<EmailOutboxMessage> claimed) {
+        List<EmailOutboxMessage> batch = withWrittenBookings(claimed);
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<String, String> failures = emailOutboxSender.send(batch);
+        Instant now = Instant.now();
+
+        BulkOperations updates = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EmailOutboxMessage.class);
+        for (EmailOutboxMessage message : batch) {
+            Query byId = query(where("id").is(message.getId()));
+            String error = failures.get(message.getId());
+            if (error == null) {
+                updates.updateOne(byId, new Update()
+                        .set("status", Status.SENT)
+                        .set("sentAt", now)
+                        .unset("leaseUntil")
+                        .unset("claimToken"));
+                deliveryLatency.record(Duration.between(message.getCreatedAt(), now));
+                sent.increment();
+                continue;
+            }
+
+            int attempts = message.getAttempts() + 1;
+            Update update = new Update()
+                    .set("attempts", attempts)
+                    .set("lastError", error)
+                    .unset("leaseUntil")
+                    .unset("claimToken");
+            if (attempts >= maxAttempts) {
+                update.set("status", Status.FAILED);
+                failed.increment();
+                log.error("Giving up on notification email {} after {} attempts: {}", message.getId(), attempts,
+                        error);
+            } else {
+                update.set("status", Status.PENDING).set("nextAttemptAt", now.plus(backoff(attempts)));
+                retried.increment();
+            }
+            updates.updateOne(byId, update);
+        }
+        updates.execute();
+    }
+
+    // Holds back messages whose bookings are not written yet, and drops those whose bookings never were
+    private List<EmailOutboxMessage> withWrittenBookings(List<EmailOutboxMessage> claimed) {
+        Set<String> bookingIds = new HashSet<>();
+        claimed.forEach(message -> {
+            if (message.getBookingIds() != null) {
+                bookingIds.addAll(message.getBookingIds());
+            }
+        });
+        if (bookingIds.isEmpty()) {
+            return claimed;
+        }
+        Set<String> written = existing(bookingIds, "bookings");
+        if (written.size() < bookingIds.size()) {
+            // Archived before the message went out
+            Set<String> missing = new HashSet<>(bookingIds);
+            missing.removeAll(written);
+            written.addAll(existing(missing, Booking.ARCHIVE_COLLECTION));
+        }
+
+        Instant now = Instant.now();
+        List<EmailOutboxMessage> ready = new ArrayList<>();
+        for (EmailOutboxMessage message : claimed) {
+            if (message.getBookingIds() == null || message.getBookingIds().isEmpty()
+                    || message.getBookingIds().stream().anyMatch(written::contains)) {
+                ready.add(message);
+            } else if (message.getCreatedAt().plus(bookingWait).isBefore(now)) {
+                mongoTemplate.remove(query(where("id").is(message.getId())), EmailOutboxMessage.class);
+                dropped.increment();
+                log.warn("Dropping notification {}, its bookings were never written", message.getId());
+            } else {
+                mongoTemplate.updateFirst(query(where("id").is(message.getId())), new Update()
+                        .set("status", Status.PENDING)
+                        .set("nextAttemptAt", now.plus(initialBackoff))
+                        .unset("leaseUntil")
+                        .unset("claimToken"), EmailOutboxMessage.class);
+            }
+        }
+        return ready;
+    }
+
+    private Set<String> existing(Set<String> bookingIds, String collection) {
+        Query byIds = query(where("_id").in(bookingIds));
+        byIds.fields().include("_id");
+        Set<String> found = new HashSet<>();
+        mongoTemplate.find(byIds, Booking.class, collection).forEach(booking -> found.add(booking.getId()));
+        return found;
+    }
+
+    private Duration backoff(int attempts) {
+        Duration delay = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxBackoff) > 0 ? maxBackoff : delay;
+    }
+}
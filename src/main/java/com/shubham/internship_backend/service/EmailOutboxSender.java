@@ -0,0 +1,69 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.model.EmailOutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers a batch of outbox messages. {@link JavaMailSender} sends all messages of one
+ * {@code send} call over a single SMTP connection, so a batch costs one connect and login.
+ */
+@Component
+@Slf4j
+public class EmailOutboxSender {
+
+    private final JavaMailSender mailSender;
+
+    // Resolved on first send, so the mail stack is not initialised at startup when its bean is lazy
+    public EmailOutboxSender(@Lazy JavaMailSender mailSender) {
+        this.mailSender = mailSender;
+    }
+
+    /**
+     * @return error message per id of every message that was not delivered
+     */
+    public Map<String, String> send(List<EmailOutboxMessage> messages) {
+        Map<SimpleMailMessage, String> ids = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : messages) {
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setTo(message.getRecipient());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            ids.put(mail, message.getId());
+        }
+
+        Map<String, String> failures = new HashMap<>();
+        try {
+            mailSender.send(ids.keySet().toArray(SimpleMailMessage[]::new));
+        } catch (MailSendException e) {
+            Map<Object, Exception> failedMessages = e.getFailedMessages();
+            if (failedMessages.isEmpty()) {
+                ids.values().forEach(id -> failures.put(id, e.getMessage()));
+            } else {
+                failedMessages.forEach((mail, cause) -> {
+                    String id = ids.get(mail);
+                    if (id != null) {
+                        failures.put(id, cause.getMessage());
+                    }
+                });
+            }
+        } catch (MailException e) {
+            ids.values().forEach(id -> failures.put(id, e.getMessage()));
+        }
+
+        if (!failures.isEmpty()) {
+            log.warn("Failed to deliver {} of {} notification emails", failures.size(), messages.size());
+        }
+        return failures;
+    }
+}
@@ -1,40 +1,86 @@
 package com.shubham.internship_backend.service;
 
 import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.EmailOutboxMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Queues booking notifications in the {@code email_outbox} collection.
+ * Delivery happens in {@link EmailOutboxDispatcher}, so SMTP never runs on the request path.
+ * <p>
+ * A notification is queued before its bookings are written, and a failure to queue fails the write. If the
+ * write then fails, the message is discarded; one that outlives a failed discard is dropped by the dispatcher
+ * because its bookings never appear.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final MongoTemplate mongoTemplate;
 
     @Value("${support.email}")
     private String supportEmail;
 
-    @Async
-    public void sendBookingNotification(Booking booking) {
+    public EmailOutboxMessage queueBookingNotification(Booking booking) {
+        EmailOutboxMessage message = mongoTemplate.insert(bookingNotification(booking));
+        log.debug("📧 Queued booking notification for Booking ID: {}", booking.getId());
+        return message;
+    }
+
+    public EmailOutboxMessage queueBatchNotification(List<Booking> bookings) {
+        EmailOutboxMessage message = mongoTemplate.insert(outboxMessage(
+                "%d New Bookings Created".formatted(bookings.size()),
+                bookings.stream().map(this::buildMessage).collect(Collectors.joining("\n")),
+                bookings.stream().map(Booking::getId).toList()));
+        log.debug("📧 Queued batch booking digest for {} bookings", bookings.size());
+        return message;
+    }
+
+    /**
+     * Builds the pending outbox entry for a booking without saving it.
+     */
+    public EmailOutboxMessage bookingNotification(Booking booking) {
+        return outboxMessage("New Booking Created", buildMessage(booking), List.of(booking.getId()));
+    }
+
+    /**
+     * Takes back a message whose bookings were not written.
+     */
+    public void discard(EmailOutboxMessage message) {
         try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(supportEmail);
-            message.setSubject("New Booking Created");
-            message.setText(buildMessage(booking));
-
-            mailSender.send(message);
-            log.info("📧 Sent booking notification logic for Booking ID: {}", booking.getId());
-        } catch (Exception e) {
-            // Do NOT break booking flow
-            log.error("Failed to send booking notification email", e);
+            mongoTemplate.remove(query(where("_id").is(message.getId())), EmailOutboxMessage.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not discard notification {}, the dispatcher will drop it", message.getId(), e);
         }
     }
 
+    private EmailOutboxMessage outboxMessage(String subject, String body, List<String> bookingIds) {
+        Instant now = Instant.now();
+        return EmailOutboxMessage.builder()
+                .id(new ObjectId().toHexString()) // known before the insert, so a failed write can discard it
+                .recipient(supportEmail)
+                .subject(subject)
+                .body(body)
+                .bookingIds(bookingIds)
+                .status(EmailOutboxMessage.Status.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
+    }
+
     private String buildMessage(Booking booking) {
         return """
                 New booking created.
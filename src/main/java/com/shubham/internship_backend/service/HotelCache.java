@@ -0,0 +1,140 @@
+package com.shubham.internship_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.shubham.internship_backend.model.Hotel;
+import com.shubham.internship_backend.repository.HotelRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Bounded cache of hotels in front of {@link HotelRepository}. Unknown ids are cached as
+ * empty with a much shorter TTL, so repeated lookups of bad ids do not reach Mongo either.
+ */
+@Component
+@Slf4j
+public class HotelCache {
+
+    private final HotelRepository hotelRepository;
+    private final Cache<String, Optional<Hotel>> cache;
+    private final Cache<String, List<Hotel>> activeByCity;
+
+    public HotelCache(HotelRepository hotelRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.hotel-cache.max-size:10000}") long maxSize,
+            @Value("${app.hotel-cache.ttl:PT1H}") Duration ttl,
+            @Value("${app.hotel-cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        this.hotelRepository = hotelRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Optional<Hotel>>() {
+                    @Override
+                    public long expireAfterCreate(String hotelId, Optional<Hotel> hotel, long currentTime) {
+                        return (hotel.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String hotelId, Optional<Hotel> hotel, long currentTime,
+                            long currentDuration) {
+                        return expireAfterCreate(hotelId, hotel, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String hotelId, Optional<Hotel> hotel, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        this.activeByCity = Caffeine.newBuilder()
+                .maximumSize(1_000)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "hotels");
+        CaffeineCacheMetrics.monitor(meterRegistry, activeByCity, "hotels-by-city");
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    public void warmUp() {
+        hotelRepository.findAll().forEach(this::put);
+        log.info("🏨 Hotel cache warmed with {} hotels", cache.estimatedSize());
+    }
+
+    /**
+     * Drops everything and warms up again, for when this instance may have missed hotel changes.
+     */
+    public void reload() {
+        cache.invalidateAll();
+        activeByCity.invalidateAll();
+        warmUp();
+    }
+
+    public Optional<Hotel> find(String hotelId) {
+        Optional<Hotel> cached = cache.getIfPresent(hotelId);
+        if (cached != null) {
+            return cached;
+        }
+        // Load outside Caffeine's compute lock: blocking on Mongo while holding a
+        // monitor would pin the carrier when running on virtual threads
+        Optional<Hotel> loaded = hotelRepository.findById(hotelId);
+        // A hotel put while this load was running is newer, so it wins
+        Optional<Hotel> current = cache.asMap().putIfAbsent(hotelId, loaded);
+        return current != null ? current : loaded;
+    }
+
+    /**
+     * Looks at the cache only, for callers that must not block on Mongo.
+     *
+     * @return the cached entry, or {@code null} if this hotel is not cached
+     */
+    public Optional<Hotel> getIfCached(String hotelId) {
+        return cache.getIfPresent(hotelId);
+    }
+
+    /**
+     * Caches the result of a lookup the caller made itself, including a missing hotel, unless an entry was
+     * cached in the meantime.
+     */
+    public void putLoaded(String hotelId, Optional<Hotel> hotel) {
+        cache.asMap().putIfAbsent(hotelId, hotel);
+    }
+
+    public boolean exists(String hotelId) {
+        return find(hotelId).isPresent();
+    }
+
+    public List<Hotel> findActiveByCity(String city) {
+        String key = city.trim().toLowerCase(Locale.ROOT);
+        List<Hotel> cached = activeByCity.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        List<Hotel> loaded = List.copyOf(hotelRepository.findByCityIgnoreCaseAndStatus(city.trim(), "ACTIVE"));
+        List<Hotel> current = activeByCity.asMap().putIfAbsent(key, loaded);
+        return current != null ? current : loaded;
+    }
+
+    public void put(Hotel hotel) {
+        cache.put(hotel.getId(), Optional.of(hotel));
+        // A hotel may have moved city or changed status, drop every city list
+        activeByCity.invalidateAll();
+    }
+
+    public void evict(String hotelId) {
+        cache.invalidate(hotelId);
+        activeByCity.invalidateAll();
+    }
+}
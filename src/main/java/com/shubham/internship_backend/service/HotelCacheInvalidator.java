@@ -0,0 +1,32 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.model.Hotel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps {@link HotelCache} in step with hotel writes made through this instance,
+ * e.g. new hotels or a changed {@code status}.
+ */
+@Component
+@RequiredArgsConstructor
+public class HotelCacheInvalidator extends AbstractMongoEventListener<Hotel> {
+
+    private final HotelCache hotelCache;
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<Hotel> event) {
+        hotelCache.put(event.getSource());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<Hotel> event) {
+        Object id = event.getSource().get("_id");
+        if (id != null) {
+            hotelCache.evict(id.toString());
+        }
+    }
+}
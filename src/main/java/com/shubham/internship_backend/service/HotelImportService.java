@@ -0,0 +1,406 @@
+package com.shubham.internship_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.shubham.internship_backend.dto.HotelImportError;
+import com.shubham.internship_backend.dto.HotelImportSummary;
+import com.shubham.internship_backend.exception.BadRequestException;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.Hotel;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streams hotels from a CSV or NDJSON upload into MongoDB.
+ * <p>
+ * The input is read one line at a time and written in chunks of {@code app.hotel-import.chunk-size}
+ * with one unordered bulk upsert each, so memory stays constant however large the upload is.
+ * Rows that fail to parse, validate or write are reported to the {@link Listener} and skipped.
+ * <p>
+ * A hotel is not given room types while it has bookings without one that have not ended: those bookings
+ * would no longer be counted by {@link RoomInventory} or the {@code booking_nights} claims.
+ */
+@Service
+@Slf4j
+public class HotelImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("id", "name", "city", "status", "roomtypes");
+    private static final String DEFAULT_STATUS = "ACTIVE";
+    private static final String BOM = "\uFEFF";
+
+    private final MongoTemplate mongoTemplate;
+    private final HotelCache hotelCache;
+    private final ObjectReader hotelReader;
+    private final int chunkSize;
+
+    public HotelImportService(MongoTemplate mongoTemplate, HotelCache hotelCache, ObjectMapper objectMapper,
+            @Value("${app.hotel-import.chunk-size:1000}") int chunkSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.hotelCache = hotelCache;
+        this.hotelReader = objectMapper.readerFor(Hotel.class);
+        this.chunkSize = chunkSize;
+    }
+
+    public enum Format {
+        CSV, NDJSON;
+
+        public static Format fromFilename(String filename) {
+            String name = filename == null ? "" : filename.toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Unknown hotel import format: " + filename);
+        }
+    }
+
+    public enum Mode {
+        /** Creates new hotels and overwrites the fields of existing ones. */
+        UPSERT,
+        /** Creates new hotels and leaves existing ones untouched. */
+        INSERT_MISSING
+    }
+
+    public interface Listener {
+
+        void onError(HotelImportError error);
+
+        /** Called after every chunk is written. */
+        void onProgress(HotelImportSummary summary);
+    }
+
+    public HotelImportSummary importHotels(InputStream input, Format format, Mode mode, Listener listener)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        Run run = new Run(mode, listener);
+
+        long lineNumber = 0;
+        Map<String, Integer> columns = null;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && columns == null) {
+                columns = csvHeader(line.startsWith(BOM) ? line.substring(1) : line);
+                continue;
+            }
+            Hotel hotel;
+            try {
+                hotel = format == Format.CSV ? fromCsv(parseCsvLine(line), columns) : fromJson(line);
+                validate(hotel);
+            } catch (IllegalArgumentException e) {
+                run.reject(lineNumber, null, e.getMessage());
+                continue;
+            }
+            run.add(lineNumber, hotel);
+        }
+        return run.finish();
+    }
+
+    /**
+     * Rows of one import that are waiting to be written, and the totals so far.
+     */
+    private final class Run {
+
+        private final Mode mode;
+        private final Listener listener;
+        private final List<Hotel> chunk = new ArrayList<>();
+        private final List<Long> chunkLines = new ArrayList<>();
+
+        private long processed;
+        private long inserted;
+        private long updated;
+        private long failed;
+
+        Run(Mode mode, Listener listener) {
+            this.mode = mode;
+            this.listener = listener;
+        }
+
+        void add(long line, Hotel hotel) {
+            processed++;
+            chunk.add(hotel);
+            chunkLines.add(line);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long line, String hotelId, String message) {
+            processed++;
+            fail(line, hotelId, message);
+        }
+
+        private void fail(long line, String hotelId, String message) {
+            failed++;
+            listener.onError(new HotelImportError(line, hotelId, message));
+        }
+
+        HotelImportSummary finish() {
+            if (!chunk.isEmpty()) {
+                flush();
+            }
+            return summary();
+        }
+
+        private void flush() {
+            if (mode == Mode.UPSERT) {
+                rejectUntypedBookings();
+            }
+            if (chunk.isEmpty()) {
+                listener.onProgress(summary());
+                return;
+            }
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Hotel.class);
+            for (Hotel hotel : chunk) {
+                bulk.upsert(Query.query(Criteria.where("_id").is(hotel.getId())), update(hotel, mode));
+            }
+
+            BulkWriteResult result;
+            Set<Integer> failedIndexes = new HashSet<>();
+            try {
+                result = bulk.execute();
+            } catch (BulkOperationException e) {
+                result = e.getResult();
+                for (BulkWriteError error : e.getErrors()) {
+                    failedIndexes.add(error.getIndex());
+                    fail(chunkLines.get(error.getIndex()), chunk.get(error.getIndex()).getId(), error.getMessage());
+                }
+            }
+            inserted += result.getUpserts().size();
+            updated += result.getModifiedCount();
+
+            // Bulk writes raise no save events, so the cache is told about written hotels directly
+            Set<String> upserted = new HashSet<>();
+            result.getUpserts().forEach(upsert -> upserted.add(upsert.getId().asString().getValue()));
+            for (int i = 0; i < chunk.size(); i++) {
+                Hotel hotel = chunk.get(i);
+                if (failedIndexes.contains(i)) {
+                    continue;
+                }
+                if (upserted.contains(hotel.getId())) {
+                    hotelCache.put(hotel);
+                } else if (mode == Mode.UPSERT) {
+                    // Fields the line left out kept their stored values, so the parsed hotel is not what Mongo holds
+                    hotelCache.evict(hotel.getId());
+                }
+            }
+
+            chunk.clear();
+            chunkLines.clear();
+            listener.onProgress(summary());
+        }
+
+        private void rejectUntypedBookings() {
+            List<String> typed = chunk.stream()
+                    .filter(hotel -> hotel.getRoomTypes() != null && !hotel.getRoomTypes().isEmpty())
+                    .map(Hotel::getId)
+                    .toList();
+            if (typed.isEmpty()) {
+                return;
+            }
+            Query untyped = Query.query(Criteria.where("hotelId").in(typed)
+                    .and("roomType").is(null)
+                    .and("endDate").gt(LocalDate.now()));
+            Set<String> blocked = new HashSet<>(mongoTemplate.findDistinct(untyped, "hotelId", Booking.class,
+                    String.class));
+            if (blocked.isEmpty()) {
+                return;
+            }
+            List<Hotel> kept = new ArrayList<>();
+            List<Long> keptLines = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                Hotel hotel = chunk.get(i);
+                if (blocked.contains(hotel.getId()) && typed.contains(hotel.getId())) {
+                    fail(chunkLines.get(i), hotel.getId(),
+                            "Hotel has current bookings without a room type, assign them one before adding room types");
+                } else {
+                    kept.add(hotel);
+                    keptLines.add(chunkLines.get(i));
+                }
+            }
+            chunk.clear();
+            chunk.addAll(kept);
+            chunkLines.clear();
+            chunkLines.addAll(keptLines);
+        }
+
+        private HotelImportSummary summary() {
+            return new HotelImportSummary(processed, inserted, updated, failed);
+        }
+    }
+
+    private Update update(Hotel hotel, Mode mode) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(hotel, document);
+        document.remove("_id");
+        Update update = new Update();
+        if (mode == Mode.UPSERT) {
+            document.forEach(update::set);
+        } else {
+            document.forEach(update::setOnInsert);
+        }
+        return update;
+    }
+
+    private Hotel fromJson(String line) {
+        try {
+            return hotelReader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private static Hotel fromCsv(List<String> values, Map<String, Integer> columns) {
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " columns but found " + values.size());
+        }
+        return Hotel.builder()
+                .id(value(values, columns, "id"))
+                .name(value(values, columns, "name"))
+                .city(value(values, columns, "city"))
+                .status(value(values, columns, "status"))
+                .roomTypes(roomTypes(value(values, columns, "roomtypes")))
+                .build();
+    }
+
+    // STANDARD:20|DELUXE:5
+    private static Map<String, Integer> roomTypes(String value) {
+        if (isBlank(value)) {
+            return null;
+        }
+        Map<String, Integer> roomTypes = new LinkedHashMap<>();
+        for (String entry : value.split("\\|")) {
+            int colon = entry.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("roomTypes entries must look like TYPE:count, found '" + entry + "'");
+            }
+            try {
+                roomTypes.put(entry.substring(0, colon).trim(), Integer.parseInt(entry.substring(colon + 1).trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid room count in '" + entry + "'");
+            }
+        }
+        return roomTypes;
+    }
+
+    private static String value(List<String> values, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        return index == null ? null : values.get(index).trim();
+    }
+
+    private static void validate(Hotel hotel) {
+        if (isBlank(hotel.getId())) {
+            throw new IllegalArgumentException("id is required");
+        }
+        if (isBlank(hotel.getName())) {
+            throw new IllegalArgumentException("name is required");
+        }
+        if (isBlank(hotel.getCity())) {
+            throw new IllegalArgumentException("city is required");
+        }
+        if (hotel.getRoomTypes() != null) {
+            hotel.getRoomTypes().forEach((type, rooms) -> {
+                if (isBlank(type)) {
+                    throw new IllegalArgumentException("Room type names must not be blank");
+                }
+                if (rooms == null || rooms < 1) {
+                    throw new IllegalArgumentException("Room type " + type + " needs at least one room");
+                }
+            });
+        }
+        hotel.setStatus(isBlank(hotel.getStatus())
+                ? DEFAULT_STATUS
+                : hotel.getStatus().trim().toUpperCase(Locale.ROOT));
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static Map<String, Integer> csvHeader(String line) {
+        List<String> names;
+        try {
+            names = parseCsvLine(line);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid CSV header: " + e.getMessage());
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i).trim().toLowerCase(Locale.ROOT);
+            if (!CSV_COLUMNS.contains(name)) {
+                throw new BadRequestException("Unknown CSV column '" + names.get(i) + "', expected " + CSV_COLUMNS);
+            }
+            columns.put(name, i);
+        }
+        if (!columns.containsKey("id")) {
+            throw new BadRequestException("CSV header must contain an 'id' column");
+        }
+        return columns;
+    }
+
+    /**
+     * Splits one CSV line (RFC 4180 quoting, {@code ""} for a quote inside a quoted field).
+     * Quoted fields may not span lines.
+     */
+    static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(value.toString());
+        return values;
+    }
+}
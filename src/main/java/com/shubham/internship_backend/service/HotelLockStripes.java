@@ -0,0 +1,32 @@
+package com.shubham.internship_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed pool of locks shared by hotels through hashing, so admission for one hotel
+ * is serialized without a global lock or one lock object per hotel.
+ */
+@Component
+public class HotelLockStripes {
+
+    private final Lock[] stripes;
+    private final int mask;
+
+    public HotelLockStripes(@Value("${app.booking-lock.stripes:64}") int stripeCount) {
+        int size = Integer.highestOneBit(Math.max(1, stripeCount - 1)) << 1;
+        this.stripes = new Lock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public Lock lockFor(String hotelId) {
+        int hash = hotelId.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & mask];
+    }
+}
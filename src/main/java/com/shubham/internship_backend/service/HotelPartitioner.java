@@ -0,0 +1,300 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.model.PartitionMembership;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Assigns every hotel to one member, so its booking writes are admitted by a single instance: its calendar, room
+ * inventory, lock and idempotency cache are only ever contended by local requests.
+ * <p>
+ * Hotels are placed on a consistent-hash ring with {@code virtual-nodes} points per member, so a membership
+ * change only moves the hotels whose ring segments changed hands. The members are kept in
+ * {@value PartitionMembership#ID} of {@code partition_membership}; an instance started with a different
+ * {@code app.partitioning.members} list publishes it as the next version, and every instance picks it up within
+ * {@code poll-interval}.
+ * <p>
+ * On a new version an instance routes by the new ring at once, waits for the writes it admitted under the old
+ * ring to finish and then records that it has handed over. A new owner holds writes for the hotels it gained until
+ * all old and new members have handed over, or at most {@code handover-timeout}. Members that are down never
+ * hand over, so the timeout bounds the wait; the {@code booking_nights} claims keep a write admitted on both
+ * sides of a handover from overbooking.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "app.partitioning.enabled", havingValue = "true")
+@Slf4j
+public class HotelPartitioner {
+
+    private final MongoTemplate mongoTemplate;
+    private final String self;
+    private final List<String> configuredMembers;
+    private final int virtualNodes;
+    private final Duration handoverTimeout;
+
+    private volatile Ring ring = Ring.EMPTY;
+
+    public HotelPartitioner(MongoTemplate mongoTemplate, MeterRegistry meterRegistry,
+            @Value("${app.partitioning.self:}") String self,
+            @Value("${app.partitioning.members:}") List<String> members,
+            @Value("${app.partitioning.virtual-nodes:128}") int virtualNodes,
+            @Value("${app.partitioning.handover-timeout:PT10S}") Duration handoverTimeout) {
+        this.mongoTemplate = mongoTemplate;
+        this.self = normalize(self);
+        this.configuredMembers = members.stream().map(HotelPartitioner::normalize).filter(m -> !m.isEmpty())
+                .distinct().sorted().toList();
+        this.virtualNodes = virtualNodes;
+        this.handoverTimeout = handoverTimeout;
+        if (this.self.isEmpty() || !configuredMembers.contains(this.self)) {
+            throw new IllegalStateException("app.partitioning.self must be one of app.partitioning.members");
+        }
+        meterRegistry.gauge("partition.membership.version", this, partitioner -> partitioner.ring.version);
+    }
+
+    public String self() {
+        return self;
+    }
+
+    /**
+     * Routes a write for the hotel: either to {@link Admission#owner()}, or here, in which case the caller must
+     * close the admission once the write is done. Until the membership is loaded every write is admitted here.
+     */
+    public Admission admit(String hotelId) {
+        while (true) {
+            Ring current = ring;
+            String owner = current.ownerOf(hotelId);
+            if (owner != null && !owner.equals(self)) {
+                return new Admission(owner, null);
+            }
+            current.inFlight.incrementAndGet();
+            if (current != ring) {
+                // The ring changed before this write was counted against it: route again
+                current.inFlight.decrementAndGet();
+                continue;
+            }
+            if (owner != null && current.previous != null && !self.equals(current.previous.ownerOf(hotelId))) {
+                awaitHandover(current);
+            }
+            return new Admission(null, current);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        PartitionMembership membership = mongoTemplate.findById(PartitionMembership.ID, PartitionMembership.class);
+        if (membership == null) {
+            try {
+                mongoTemplate.insert(PartitionMembership.builder()
+                        .id(PartitionMembership.ID)
+                        .version(1)
+                        .members(configuredMembers)
+                        .previousMembers(List.of())
+                        .handedOver(List.of())
+                        .changedAt(Instant.now())
+                        .build());
+            } catch (DuplicateKeyException e) {
+                // Another member published first; compare against theirs below
+            }
+            membership = mongoTemplate.findById(PartitionMembership.ID, PartitionMembership.class);
+        }
+        if (membership != null && !configuredMembers.equals(membership.getMembers())) {
+            // Only applies if nobody changed the membership since it was read
+            mongoTemplate.updateFirst(query(where("_id").is(PartitionMembership.ID)
+                            .and("version").is(membership.getVersion())),
+                    new Update()
+                            .set("version", membership.getVersion() + 1)
+                            .set("members", configuredMembers)
+                            .set("previousMembers", membership.getMembers())
+                            .set("handedOver", List.of())
+                            .set("changedAt", Instant.now()),
+                    PartitionMembership.class);
+        }
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${app.partitioning.poll-interval:PT1S}")
+    public void refresh() {
+        PartitionMembership membership;
+        try {
+            membership = mongoTemplate.findById(PartitionMembership.ID, PartitionMembership.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not read partition membership, keeping version {}", ring.version, e);
+            return;
+        }
+        if (membership == null) {
+            return;
+        }
+        Ring current = ring;
+        if (membership.getVersion() > current.version) {
+            handOver(current, membership);
+        } else if (membership.getVersion() == current.version && !current.settled.isDone()
+                && isSettled(membership)) {
+            current.settled.complete(null);
+            log.info("🔀 Partition handover to version {} complete", current.version);
+        }
+    }
+
+    private void handOver(Ring old, PartitionMembership membership) {
+        Ring previous = membership.getPreviousMembers() == null || membership.getPreviousMembers().isEmpty()
+                ? null
+                : Ring.of(membership.getVersion() - 1, membership.getPreviousMembers(), virtualNodes, null);
+        Ring next = Ring.of(membership.getVersion(), membership.getMembers(), virtualNodes, previous);
+        if (previous == null || isSettled(membership)) {
+            next.settled.complete(null);
+        }
+        ring = next;
+        old.settled.complete(null);
+        log.info("🔀 Partition membership version {}: {} members, this instance is {}", next.version,
+                next.members.size(), next.members.contains(self) ? self : "not a member");
+
+        long deadline = System.nanoTime() + handoverTimeout.toNanos();
+        try {
+            while (old.inFlight.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (old.inFlight.get() > 0) {
+            log.warn("Handing over with {} writes still running under version {}", old.inFlight.get(), old.version);
+        }
+        mongoTemplate.updateFirst(query(where("_id").is(PartitionMembership.ID)
+                        .and("version").is(membership.getVersion())),
+                new Update().addToSet("handedOver", self), PartitionMembership.class);
+    }
+
+    private boolean isSettled(PartitionMembership membership) {
+        Set<String> expected = new LinkedHashSet<>(membership.getMembers());
+        if (membership.getPreviousMembers() != null) {
+            expected.addAll(membership.getPreviousMembers());
+        }
+        List<String> handedOver = membership.getHandedOver() != null ? membership.getHandedOver() : List.of();
+        return handedOver.containsAll(expected)
+                || membership.getChangedAt().plus(handoverTimeout).isBefore(Instant.now());
+    }
+
+    private void awaitHandover(Ring current) {
+        try {
+            current.settled.get(handoverTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Admit anyway, the night claims still reject a room taken by the previous owner
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String normalize(String member) {
+        String trimmed = member.trim();
+        return trimmed.endsWith("/") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    /**
+     * @param owner member to forward the write to, or null if it is admitted here
+     */
+    public record Admission(String owner, Ring ring) implements AutoCloseable {
+
+        @Override
+        public void close() {
+            if (ring != null) {
+                ring.inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * One membership version: sorted hash points, each owned by the member whose virtual node it is.
+     */
+    static final class Ring {
+
+        static final Ring EMPTY = of(0, List.of(), 0, null);
+
+        final long version;
+        final List<String> members;
+        final Ring previous; // owners before this version, null if there were none
+        final AtomicInteger inFlight = new AtomicInteger();
+        final CompletableFuture<Void> settled = new CompletableFuture<>();
+        private final long[] points;
+        private final String[] owners;
+
+        private Ring(long version, List<String> members, Ring previous, long[] points, String[] owners) {
+            this.version = version;
+            this.members = members;
+            this.previous = previous;
+            this.points = points;
+            this.owners = owners;
+        }
+
+        static Ring of(long version, List<String> members, int virtualNodes, Ring previous) {
+            // Sorted, so a colliding point goes to the same member everywhere
+            List<String> sorted = members.stream().map(HotelPartitioner::normalize).distinct().sorted().toList();
+            TreeMap<Long, String> ring = new TreeMap<>();
+            for (String member : sorted) {
+                for (int i = 0; i < virtualNodes; i++) {
+                    ring.putIfAbsent(hash(member + "#" + i), member);
+                }
+            }
+            long[] points = new long[ring.size()];
+            String[] owners = new String[ring.size()];
+            int i = 0;
+            for (Map.Entry<Long, String> point : ring.entrySet()) {
+                points[i] = point.getKey();
+                owners[i++] = point.getValue();
+            }
+            return new Ring(version, sorted, previous, points, owners);
+        }
+
+        String ownerOf(String hotelId) {
+            if (points.length == 0) {
+                return null;
+            }
+            int i = Arrays.binarySearch(points, hash(hotelId));
+            if (i < 0) {
+                i = -i - 1;
+            }
+            return owners[i == points.length ? 0 : i];
+        }
+
+        // FNV-1a, then the MurmurHash3 finalizer to spread similar ids such as HOTEL_001 and HOTEL_002
+        static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            hash ^= hash >>> 33;
+            hash *= 0xff51afd7ed558ccdL;
+            hash ^= hash >>> 33;
+            hash *= 0xc4ceb9fe1a85ec53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
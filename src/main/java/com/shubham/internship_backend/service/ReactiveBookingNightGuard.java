@@ -0,0 +1,61 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.exception.ConflictException;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.BookingNight;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Non-blocking version of {@link BookingNightGuard}, claiming the same {@code booking_nights} counters.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBookingNightGuard {
+
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+
+    public Mono<Void> reserve(Booking booking, int capacity) {
+        List<BookingNight> nights = new ArrayList<>();
+        BookingNightGuard.addNights(nights, booking);
+
+        ReactiveBulkOperations create = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                BookingNight.class);
+        nights.forEach(night -> create.upsert(BookingNightGuard.byId(night), BookingNightGuard.emptyNight(night)));
+
+        ReactiveBulkOperations claim = reactiveMongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED,
+                BookingNight.class);
+        nights.forEach(night -> claim.updateOne(BookingNightGuard.claimable(night.getId(), capacity),
+                BookingNightGuard.claim(booking.getId())));
+
+        return create.execute()
+                .then(Mono.defer(claim::execute))
+                .flatMap(result -> {
+                    if (result.getMatchedCount() == nights.size()) {
+                        return Mono.<Void>empty();
+                    }
+                    // Some night was full, give back the ones that were taken
+                    log.warn("No room left on another instance for hotel: {} dates: {} - {}",
+                            booking.getHotelId(), booking.getStartDate(), booking.getEndDate());
+                    return release(booking.getId()).then(Mono.error(
+                            new ConflictException("Booking dates overlap with existing booking")));
+                });
+    }
+
+    public Mono<Void> release(String bookingId) {
+        return reactiveMongoTemplate.updateMulti(BookingNightGuard.holding(bookingId),
+                        BookingNightGuard.unclaim(bookingId), BookingNight.class)
+                .then();
+    }
+}
@@ -0,0 +1,161 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.dto.BookingCursor;
+import com.shubham.internship_backend.dto.BookingPage;
+import com.shubham.internship_backend.dto.BookingRequest;
+import com.shubham.internship_backend.event.BookingCreatedEvent;
+import com.shubham.internship_backend.exception.BadRequestException;
+import com.shubham.internship_backend.exception.ConflictException;
+import com.shubham.internship_backend.exception.ResourceNotFoundException;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.EmailOutboxMessage;
+import com.shubham.internship_backend.model.Hotel;
+import com.shubham.internship_backend.repository.ReactiveBookingRepository;
+import com.shubham.internship_backend.repository.ReactiveHotelRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.springframework.data.mongodb.core.query.Criteria.where;
+import static org.springframework.data.mongodb.core.query.Query.query;
+
+/**
+ * Non-blocking booking pipeline for the {@code reactive} profile. Same rules and errors as
+ * {@link BookingService}, but no request thread waits on Mongo.
+ * <p>
+ * There is no per-hotel lock or in-memory inventory here: the {@code booking_nights} counters
+ * are what keep concurrent requests from taking more rooms than a night has.
+ */
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveBookingService {
+
+    private final ReactiveBookingRepository bookingRepository;
+    private final ReactiveHotelRepository hotelRepository;
+    private final ReactiveBookingNightGuard bookingNightGuard;
+    private final ReactiveMongoTemplate reactiveMongoTemplate;
+    private final HotelCache hotelCache;
+    private final EmailService emailService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public Mono<List<Booking>> getBookings(String hotelId) {
+        return ensureHotelExists(hotelId)
+                .thenMany(bookingRepository.findByHotelIdOrderByStartDateAsc(hotelId))
+                .collectList();
+    }
+
+    public Mono<BookingPage<Booking>> getBookingPage(String hotelId, LocalDate from, LocalDate to, String after, int limit) {
+        return ensureHotelExists(hotelId).then(Mono.defer(() -> {
+            if (from != null && to != null && !from.isBefore(to)) {
+                return Mono.error(new BadRequestException("'from' must be before 'to'"));
+            }
+            if (limit < 1 || limit > BookingService.MAX_PAGE_SIZE) {
+                return Mono.error(new BadRequestException(
+                        "limit must be between 1 and " + BookingService.MAX_PAGE_SIZE));
+            }
+
+            BookingCursor cursor = after != null ? BookingCursor.decode(after) : null;
+            // Fetch one extra row to learn whether another page follows
+            return bookingRepository.findPage(hotelId, from, to, cursor, limit + 1)
+                    .collectList()
+                    .map(bookings -> {
+                        if (bookings.size() <= limit) {
+                            return new BookingPage<>(bookings, null);
+                        }
+                        List<Booking> page = bookings.subList(0, limit);
+                        return new BookingPage<>(page, BookingCursor.of(page.get(limit - 1)).encode());
+                    });
+        }));
+    }
+
+    public Flux<Booking> streamBookings(String hotelId, LocalDate from, LocalDate to) {
+        return ensureHotelExists(hotelId).thenMany(Flux.defer(() -> {
+            if (from != null && to != null && !from.isBefore(to)) {
+                return Flux.error(new BadRequestException("'from' must be before 'to'"));
+            }
+            return bookingRepository.streamBookings(hotelId, from, to);
+        }));
+    }
+
+    public Mono<Booking> createBooking(String hotelId, String createdBy, BookingRequest request) {
+        // 0. Validate Hotel Exists
+        return findHotel(hotelId)
+                .flatMap(hotel -> {
+                    // 1. Invalid Date Range Conflict
+                    if (!request.getStartDate().isBefore(request.getEndDate())) {
+                        return Mono.error(new BadRequestException("Start date must be before end date"));
+                    }
+                    String roomType = RoomInventory.roomTypeFor(hotel, request.getRoomType());
+                    Booking booking = toBooking(hotelId, createdBy, request, roomType);
+                    // 2. Queue the notification first, so a booking is never acknowledged without one
+                    EmailOutboxMessage notification = emailService.bookingNotification(booking);
+                    return reactiveMongoTemplate.insert(notification)
+                            // 3. Claim a room on every night, then save
+                            .then(Mono.defer(() -> admit(booking, RoomInventory.capacityOf(hotel, roomType))))
+                            .onErrorResume(e -> discard(notification).then(Mono.error(e)));
+                })
+                .doOnNext(savedBooking -> eventPublisher.publishEvent(new BookingCreatedEvent(savedBooking)));
+    }
+
+    private Mono<Booking> admit(Booking booking, int capacity) {
+        return bookingNightGuard.reserve(booking, capacity)
+                .then(Mono.defer(() -> bookingRepository.insert(booking)))
+                .onErrorResume(e -> !(e instanceof ConflictException),
+                        e -> bookingNightGuard.release(booking.getId()).then(Mono.error(e)));
+    }
+
+    // A message that is not removed here is dropped by the dispatcher, as its booking never appears
+    private Mono<Void> discard(EmailOutboxMessage message) {
+        return reactiveMongoTemplate.remove(query(where("_id").is(message.getId())), EmailOutboxMessage.class)
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Could not discard notification {}, the dispatcher will drop it", message.getId(), e);
+                    return Mono.empty();
+                });
+    }
+
+    private static Booking toBooking(String hotelId, String createdBy, BookingRequest request, String roomType) {
+        return Booking.builder()
+                .id(new ObjectId().toHexString())
+                .hotelId(hotelId)
+                .createdBy(createdBy)
+                .guestName(request.getGuestName())
+                .guestEmail(request.getGuestEmail())
+                .roomType(roomType)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private Mono<Void> ensureHotelExists(String hotelId) {
+        return findHotel(hotelId).then();
+    }
+
+    private Mono<Hotel> findHotel(String hotelId) {
+        Optional<Hotel> cached = hotelCache.getIfCached(hotelId);
+        Mono<Optional<Hotel>> hotel = cached != null
+                ? Mono.just(cached)
+                : hotelRepository.findById(hotelId)
+                        .map(Optional::of)
+                        .defaultIfEmpty(Optional.empty())
+                        .doOnNext(loaded -> hotelCache.putLoaded(hotelId, loaded));
+
+        return hotel.flatMap(found -> found.isPresent()
+                ? Mono.just(found.get())
+                : Mono.error(new ResourceNotFoundException("Hotel not found with ID: " + hotelId)));
+    }
+}
@@ -0,0 +1,296 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.event.BookingReplicatedEvent;
+import com.shubham.internship_backend.event.BookingsResyncedEvent;
+import com.shubham.internship_backend.exception.BadRequestException;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.Hotel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Rooms taken per night, per hotel and room type, as a segment tree over epoch days with
+ * range add and range max. "Does this stay fit" is the maximum over its nights compared with
+ * the room type's capacity, an O(log n) check however many bookings the hotel has.
+ * <p>
+ * A hotel is built from {@link BookingCalendarIndex} at startup or on first use. Bookings admitted here
+ * are counted by {@link #tryReserve}; bookings written by other instances arrive as {@link BookingReplicatedEvent}s.
+ * The {@code booking_nights} counters stay the authority across instances.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RoomInventory {
+
+    // Epoch days 0 .. 2^17 - 1, i.e. 1970-01-01 to 2328-11-11
+    private static final int DAYS = 1 << 17;
+    private static final String NO_ROOM_TYPE = "";
+
+    private final BookingCalendarIndex bookingCalendarIndex;
+
+    private final ConcurrentMap<String, ConcurrentMap<String, NightCounter>> hotels = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void warmUp() {
+        bookingCalendarIndex.loadedHotels().forEach(this::inventoryOf);
+        if (!hotels.isEmpty()) {
+            log.info("🛏️ Room inventory built for {} hotels", hotels.size());
+        }
+    }
+
+    /**
+     * The room type a request books: the requested one, or the only one the hotel has.
+     * Hotels without room types are booked without one.
+     */
+    public static String roomTypeFor(Hotel hotel, String requested) {
+        Map<String, Integer> roomTypes = hotel.getRoomTypes();
+        if (roomTypes == null || roomTypes.isEmpty()) {
+            if (requested != null) {
+                throw new BadRequestException("Hotel " + hotel.getId() + " has no room types");
+            }
+            return null;
+        }
+        if (requested == null) {
+            if (roomTypes.size() == 1) {
+                return roomTypes.keySet().iterator().next();
+            }
+            throw new BadRequestException("roomType is required, one of " + roomTypes.keySet());
+        }
+        if (!roomTypes.containsKey(requested)) {
+            throw new BadRequestException("Unknown room type '" + requested + "', expected one of "
+                    + roomTypes.keySet());
+        }
+        return requested;
+    }
+
+    public static int capacityOf(Hotel hotel, String roomType) {
+        return roomType == null ? 1 : hotel.getRoomTypes().getOrDefault(roomType, 0);
+    }
+
+    /**
+     * Takes one room for every night of the booking, or none if any night is full.
+     */
+    public boolean tryReserve(Booking booking, int capacity) {
+        return counterOf(booking).tryAdd(dayOf(booking.getStartDate()), dayOf(booking.getEndDate()), capacity);
+    }
+
+    public void release(Booking booking) {
+        counterOf(booking).add(dayOf(booking.getStartDate()), dayOf(booking.getEndDate()), -1);
+    }
+
+    /**
+     * Gives back the rooms of a booking that was already taken out of the calendar. Unlike {@link #release},
+     * a hotel that is not built yet is left alone, since building it from the calendar will not count the booking.
+     */
+    public void releaseRemoved(Booking booking) {
+        ConcurrentMap<String, NightCounter> inventory = hotels.get(booking.getHotelId());
+        if (inventory != null) {
+            count(inventory, booking, -1);
+        }
+    }
+
+    /**
+     * Whether any room type of the hotel has a room free on every night of {@code [from, to)}.
+     */
+    public boolean hasRoom(Hotel hotel, LocalDate from, LocalDate to) {
+        ConcurrentMap<String, NightCounter> inventory = inventoryOf(hotel.getId());
+        int first = dayOf(from);
+        int end = dayOf(to);
+        Map<String, Integer> roomTypes = hotel.getRoomTypes();
+        if (roomTypes == null || roomTypes.isEmpty()) {
+            return maxTaken(inventory, NO_ROOM_TYPE, first, end) < 1;
+        }
+        return roomTypes.entrySet().stream()
+                .anyMatch(type -> maxTaken(inventory, type.getKey(), first, end) < type.getValue());
+    }
+
+    @EventListener
+    public void onBookingReplicated(BookingReplicatedEvent event) {
+        // Hotels that are not built yet will read these bookings from the calendar
+        if (event.previous() != null) {
+            releaseRemoved(event.previous());
+        }
+        if (event.current() != null) {
+            ConcurrentMap<String, NightCounter> inventory = hotels.get(event.current().getHotelId());
+            if (inventory != null) {
+                count(inventory, event.current(), 1);
+            }
+        }
+    }
+
+    @EventListener(BookingsResyncedEvent.class)
+    public void onBookingsResynced() {
+        hotels.clear();
+    }
+
+    /**
+     * Converts a stay boundary to a tree position, rejecting dates the tree does not cover.
+     */
+    public static int dayOf(LocalDate date) {
+        long day = date.toEpochDay();
+        if (day < 0 || day >= DAYS) {
+            throw new BadRequestException("Dates must be between " + LocalDate.ofEpochDay(0) + " and "
+                    + LocalDate.ofEpochDay(DAYS - 1));
+        }
+        return (int) day;
+    }
+
+    private static int maxTaken(ConcurrentMap<String, NightCounter> inventory, String roomType, int first, int end) {
+        NightCounter counter = inventory.get(roomType);
+        return counter == null ? 0 : counter.max(first, end);
+    }
+
+    // For bookings that are already written, which may lie anywhere
+    private static void count(ConcurrentMap<String, NightCounter> inventory, Booking booking, int delta) {
+        long start = booking.getStartDate().toEpochDay();
+        long end = booking.getEndDate().toEpochDay();
+        if (start < 0 || end >= DAYS) {
+            log.warn("Booking {} lies outside the room inventory range, skipped", booking.getId());
+            return;
+        }
+        counterOf(inventory, booking).add((int) start, (int) end, delta);
+    }
+
+    private NightCounter counterOf(Booking booking) {
+        return counterOf(inventoryOf(booking.getHotelId()), booking);
+    }
+
+    private static NightCounter counterOf(ConcurrentMap<String, NightCounter> inventory, Booking booking) {
+        String roomType = booking.getRoomType() == null ? NO_ROOM_TYPE : booking.getRoomType();
+        return inventory.computeIfAbsent(roomType, type -> new NightCounter());
+    }
+
+    private ConcurrentMap<String, NightCounter> inventoryOf(String hotelId) {
+        ConcurrentMap<String, NightCounter> inventory = hotels.get(hotelId);
+        if (inventory != null) {
+            return inventory;
+        }
+
+        // Build outside the map so loading the calendar does not block other hotels
+        ConcurrentMap<String, NightCounter> built = new ConcurrentHashMap<>();
+        for (Booking booking : bookingCalendarIndex.getBookings(hotelId)) {
+            count(built, booking, 1);
+        }
+        ConcurrentMap<String, NightCounter> existing = hotels.putIfAbsent(hotelId, built);
+        return existing != null ? existing : built;
+    }
+
+    /**
+     * Dynamic segment tree over {@code [0, DAYS)}: nodes are only allocated where bookings are.
+     * An add that covers a node's whole range stays on that node ({@code pending}) instead of being
+     * pushed down, so {@code max[node]} is the maximum of its range including its own pending adds.
+     */
+    static final class NightCounter {
+
+        private static final int ROOT = 1; // 0 marks a missing child, whose range has nothing booked
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private int[] left = new int[64];
+        private int[] right = new int[64];
+        private int[] max = new int[64];
+        private int[] pending = new int[64];
+        private int nodes = 2;
+
+        /**
+         * Adds one to every night of {@code [from, to)} if none of them is at {@code capacity} yet.
+         */
+        boolean tryAdd(int from, int to, int capacity) {
+            lock.lock();
+            try {
+                if (query(ROOT, 0, DAYS, from, to) >= capacity) {
+                    return false;
+                }
+                update(ROOT, 0, DAYS, from, to, 1);
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void add(int from, int to, int delta) {
+            lock.lock();
+            try {
+                update(ROOT, 0, DAYS, from, to, delta);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int max(int from, int to) {
+            lock.lock();
+            try {
+                return query(ROOT, 0, DAYS, from, to);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void update(int node, int lo, int hi, int from, int to, int delta) {
+            if (from <= lo && hi <= to) {
+                pending[node] += delta;
+                max[node] += delta;
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            if (from < mid) {
+                if (left[node] == 0) {
+                    // allocate() may replace the array, so read the field only after it returns
+                    int child = allocate();
+                    left[node] = child;
+                }
+                update(left[node], lo, mid, from, to, delta);
+            }
+            if (to > mid) {
+                if (right[node] == 0) {
+                    int child = allocate();
+                    right[node] = child;
+                }
+                update(right[node], mid, hi, from, to, delta);
+            }
+            max[node] = pending[node] + Math.max(max[left[node]], max[right[node]]);
+        }
+
+        private int query(int node, int lo, int hi, int from, int to) {
+            if (node == 0) {
+                return 0;
+            }
+            if (from <= lo && hi <= to) {
+                return max[node];
+            }
+            int mid = (lo + hi) >>> 1;
+            int best = Integer.MIN_VALUE;
+            if (from < mid) {
+                best = query(left[node], lo, mid, from, to);
+            }
+            if (to > mid) {
+                best = Math.max(best, query(right[node], mid, hi, from, to));
+            }
+            return best + pending[node];
+        }
+
+        private int allocate() {
+            if (nodes == max.length) {
+                int capacity = nodes * 2;
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                max = Arrays.copyOf(max, capacity);
+                pending = Arrays.copyOf(pending, capacity);
+            }
+            return nodes++;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.shubham.internship_backend.config;
+
+import com.shubham.internship_backend.service.HotelPartitioner;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingForwardingFilterTest {
+
+    private static final String BOOKINGS_URI = "/api/hotels/HOTEL_001/bookings";
+    private static final String MEMBER = "http://member-a:8080";
+
+    private final HotelPartitioner partitioner = mock(HotelPartitioner.class);
+    private final BookingForwardingFilter filter = new BookingForwardingFilter(partitioner,
+            mock(HandlerExceptionResolver.class), new SimpleMeterRegistry(), Duration.ofSeconds(1),
+            Duration.ofSeconds(10), "test-secret");
+
+    @BeforeEach
+    void setUp() {
+        when(partitioner.admit(anyString())).thenReturn(new HotelPartitioner.Admission(null, null));
+    }
+
+    @Test
+    void signedForwardIsAdmittedAsForwarded() throws Exception {
+        byte[] body = "{\"roomType\":\"DELUXE\"}".getBytes(StandardCharsets.UTF_8);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(forward(body, body), new MockHttpServletResponse(), chain);
+
+        HttpServletRequest admitted = (HttpServletRequest) chain.getRequest();
+        assertThat(admitted.getHeader(BookingForwardingFilter.FORWARDED_BY)).isEqualTo(MEMBER);
+        assertThat(admitted.getInputStream().readAllBytes()).isEqualTo(body);
+        verify(partitioner, never()).admit(anyString());
+    }
+
+    @Test
+    void forwardWithChangedBodyIsRejected() throws Exception {
+        byte[] signed = "{\"roomType\":\"DELUXE\"}".getBytes(StandardCharsets.UTF_8);
+        byte[] changed = "{\"roomType\":\"SUITE\"}".getBytes(StandardCharsets.UTF_8);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(forward(signed, changed), new MockHttpServletResponse(), chain);
+
+        HttpServletRequest admitted = (HttpServletRequest) chain.getRequest();
+        assertThat(admitted.getHeader(BookingForwardingFilter.FORWARDED_BY)).isNull();
+        assertThat(admitted.getHeader(BookingForwardingFilter.MEMBER_SIGNATURE)).isNull();
+        assertThat(admitted.getHeader(BookingForwardingFilter.MEMBER_BODY_DIGEST)).isNull();
+        // Routed like a client request instead of being trusted as a forward
+        verify(partitioner).admit("HOTEL_001");
+    }
+
+    // A forward signed for signedBody whose body on the wire is sentBody
+    private MockHttpServletRequest forward(byte[] signedBody, byte[] sentBody) {
+        long timestamp = Instant.now().getEpochSecond();
+        String bodyDigest = BookingForwardingFilter.digestOf(signedBody);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", BOOKINGS_URI);
+        request.addHeader(BookingForwardingFilter.FORWARDED_BY, MEMBER);
+        request.addHeader(BookingForwardingFilter.MEMBER_BODY_DIGEST, bodyDigest);
+        request.addHeader(BookingForwardingFilter.MEMBER_SIGNATURE,
+                timestamp + ":" + filter.sign(MEMBER, timestamp, "POST", BOOKINGS_URI, bodyDigest));
+        request.setContent(sentBody);
+        return request;
+    }
+}
@@ -0,0 +1,60 @@
+package com.shubham.internship_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shubham.internship_backend.event.BookingCreatedEvent;
+import com.shubham.internship_backend.event.BookingRemovedEvent;
+import com.shubham.internship_backend.model.Booking;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class BookingFeedTest {
+
+    private final BookingFeed feed = new BookingFeed(mock(HotelCache.class), new ObjectMapper(),
+            new SimpleMeterRegistry(), 16, 10, Duration.ofMinutes(1), 1);
+
+    @AfterEach
+    void tearDown() {
+        feed.close();
+    }
+
+    @Test
+    void etagChangesWithEveryBookingChangeOfTheHotel() {
+        String before = feed.etag("HOTEL_001", false);
+        assertThat(feed.etag("HOTEL_001", false)).isEqualTo(before);
+        assertThat(feed.etag("HOTEL_001", true)).isNotEqualTo(before);
+
+        Booking booking = booking("HOTEL_001");
+        feed.onBookingCreated(new BookingCreatedEvent(booking));
+        String created = feed.etag("HOTEL_001", false);
+        assertThat(created).isNotEqualTo(before);
+
+        feed.onBookingRemoved(new BookingRemovedEvent(booking));
+        assertThat(feed.etag("HOTEL_001", false)).isNotEqualTo(created).isNotEqualTo(before);
+    }
+
+    @Test
+    void otherHotelsKeepTheirEtag() {
+        String other = feed.etag("HOTEL_002", true);
+
+        feed.onBookingCreated(new BookingCreatedEvent(booking("HOTEL_001")));
+
+        assertThat(feed.etag("HOTEL_002", true)).isEqualTo(other);
+    }
+
+    private static Booking booking(String hotelId) {
+        return Booking.builder()
+                .id(hotelId + "-1")
+                .hotelId(hotelId)
+                .guestName("Guest")
+                .startDate(LocalDate.of(2025, 2, 10))
+                .endDate(LocalDate.of(2025, 2, 12))
+                .build();
+    }
+}
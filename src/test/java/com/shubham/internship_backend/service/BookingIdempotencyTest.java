@@ -0,0 +1,172 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.dto.BookingRequest;
+import com.shubham.internship_backend.exception.BadRequestException;
+import com.shubham.internship_backend.exception.ConflictException;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.IdempotencyRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BookingIdempotencyTest {
+
+    private static final String KEY = "retry-1";
+    private static final String RECORD_ID = "staff-1:" + KEY;
+
+    private final AtomicInteger created = new AtomicInteger();
+
+    private MongoTemplate mongoTemplate;
+    private BookingIdempotency idempotency;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        idempotency = new BookingIdempotency(mongoTemplate, new SimpleMeterRegistry(), 100, Duration.ofMinutes(10),
+                Duration.ofMillis(300));
+    }
+
+    @Test
+    void retryReplaysTheOriginalBooking() {
+        BookingIdempotency.Outcome first = execute(request("DELUXE"));
+        BookingIdempotency.Outcome retry = execute(request("DELUXE"));
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.booking()).isSameAs(first.booking());
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void keyReusedForADifferentRequestIsRejected() {
+        execute(request("DELUXE"));
+        BookingRequest other = request("DELUXE");
+        other.setGuestName("Other Guest");
+
+        assertThatThrownBy(() -> execute(other)).isInstanceOf(BadRequestException.class);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void keyReusedForAnotherRoomTypeIsRejected() {
+        execute(request("DELUXE"));
+
+        assertThatThrownBy(() -> execute(request("STANDARD"))).isInstanceOf(BadRequestException.class);
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void concurrentDuplicatesOnThisInstanceShareOneBooking() throws Exception {
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<BookingIdempotency.Outcome> original = CompletableFuture.supplyAsync(() ->
+                idempotency.execute("staff-1", KEY, "HOTEL_001", request("DELUXE"), () -> {
+                    created.incrementAndGet();
+                    creating.countDown();
+                    await(release);
+                    return booking();
+                }));
+        assertThat(creating.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<BookingIdempotency.Outcome> duplicate = CompletableFuture.supplyAsync(
+                () -> execute(request("DELUXE")));
+        Thread.sleep(50);
+        release.countDown();
+
+        assertThat(original.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).replayed()).isTrue();
+        assertThat(created).hasValue(1);
+    }
+
+    @Test
+    void retryOnAnotherInstanceWaitsForTheClaimToComplete() {
+        Booking original = booking();
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("claimed"));
+        when(mongoTemplate.findById(RECORD_ID, IdempotencyRecord.class))
+                .thenReturn(record(null))
+                .thenReturn(record(original));
+
+        BookingIdempotency.Outcome retry = execute(request("DELUXE"));
+
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.booking()).isSameAs(original);
+        assertThat(created).hasValue(0);
+    }
+
+    @Test
+    void claimThatStaysUnfinishedAnswersConflict() {
+        when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("claimed"));
+        when(mongoTemplate.findById(RECORD_ID, IdempotencyRecord.class)).thenReturn(record(null));
+
+        assertThatThrownBy(() -> execute(request("DELUXE"))).isInstanceOf(ConflictException.class);
+        assertThat(created).hasValue(0);
+    }
+
+    @Test
+    void failedRequestReleasesTheKey() {
+        assertThatThrownBy(() -> idempotency.execute("staff-1", KEY, "HOTEL_001", request("DELUXE"), () -> {
+            throw new ConflictException("Booking dates overlap with existing booking");
+        })).isInstanceOf(ConflictException.class);
+        verify(mongoTemplate).remove(any(Query.class), eq(IdempotencyRecord.class));
+
+        assertThat(execute(request("DELUXE")).replayed()).isFalse();
+        assertThat(created).hasValue(1);
+    }
+
+    private BookingIdempotency.Outcome execute(BookingRequest request) {
+        return idempotency.execute("staff-1", KEY, "HOTEL_001", request, () -> {
+            created.incrementAndGet();
+            return booking();
+        });
+    }
+
+    private static IdempotencyRecord record(Booking booking) {
+        return IdempotencyRecord.builder()
+                .id(RECORD_ID)
+                .fingerprint(BookingIdempotency.fingerprint("HOTEL_001", request("DELUXE")))
+                .booking(booking)
+                .createdAt(Instant.now())
+                .build();
+    }
+
+    private static BookingRequest request(String roomType) {
+        BookingRequest request = new BookingRequest();
+        request.setGuestName("Guest");
+        request.setGuestEmail("guest@example.com");
+        request.setStartDate(LocalDate.of(2025, 2, 10));
+        request.setEndDate(LocalDate.of(2025, 2, 12));
+        request.setRoomType(roomType);
+        return request;
+    }
+
+    private static Booking booking() {
+        return Booking.builder().id("booking-1").hotelId("HOTEL_001").build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.shubham.internship_backend.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.shubham.internship_backend.event.BookingCreatedEvent;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.BookingRollup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingRollupsTest {
+
+    private static final LocalDate FEB_10 = LocalDate.of(2025, 2, 10);
+
+    @Test
+    void leadTimeBucketsAreContiguous() {
+        assertThat(BookingRollups.leadTimeBucket(0)).isEqualTo("0");
+        assertThat(BookingRollups.leadTimeBucket(1)).isEqualTo("1");
+        assertThat(BookingRollups.leadTimeBucket(3)).isEqualTo("2-3");
+        assertThat(BookingRollups.leadTimeBucket(8)).isEqualTo("8-14");
+        assertThat(BookingRollups.leadTimeBucket(365)).isEqualTo("181-365");
+        assertThat(BookingRollups.leadTimeBucket(400)).isEqualTo("366+");
+    }
+
+    @Test
+    void bookingsOfOneHotelMergeIntoOneUpdatePerDocument() {
+        Map<String, BookingRollups.RollupDelta> deltas = new HashMap<>();
+        BookingRollups.contribute(booking("staff-1", FEB_10, 3, "2025-02-01T10:00:00Z"), "Pune",
+                (id, delta) -> deltas.merge(id, delta, BookingRollups.RollupDelta::add));
+        BookingRollups.contribute(booking("staff-2", FEB_10.plusDays(1), 1, "2025-02-10T08:00:00Z"), "Pune",
+                (id, delta) -> deltas.merge(id, delta, BookingRollups.RollupDelta::add));
+
+        // hotel, city, two staff members and the nights of the 10th, 11th and 12th
+        assertThat(deltas).hasSize(7);
+        Update hotel = deltas.get(BookingRollup.hotelKey("HOTEL_001")).toUpdate();
+        Map<?, ?> increments = (Map<?, ?>) hotel.getUpdateObject().get("$inc");
+        assertThat(increments.get("bookings")).isEqualTo(2L);
+        assertThat(increments.get("nights")).isEqualTo(4L);
+        assertThat(increments.get("leadTimeDaysSum")).isEqualTo(10L);
+        assertThat(increments.get("leadTimeDays.8-14")).isEqualTo(1L);
+        assertThat(increments.get("leadTimeDays.1")).isEqualTo(1L);
+
+        Map<?, ?> night = (Map<?, ?>) deltas.get(BookingRollup.nightKey("HOTEL_001", FEB_10.plusDays(1)))
+                .toUpdate().getUpdateObject().get("$inc");
+        assertThat(night.get("bookings")).isEqualTo(2L);
+        assertThat(deltas).containsKey(BookingRollup.cityKey("pune"));
+    }
+
+    @Test
+    void failedUpsertsAreRetriedByTheNextFlush() {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        BulkOperations bulk = mock(BulkOperations.class);
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, BookingRollup.class)).thenReturn(bulk);
+        List<Object> written = new ArrayList<>();
+        when(bulk.upsert(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            written.add(invocation.<Query>getArgument(0).getQueryObject().get("_id"));
+            return bulk;
+        });
+        BulkWriteError error = new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1);
+        when(bulk.execute())
+                .thenThrow(new BulkOperationException("Upsert failed", new MongoBulkWriteException(
+                        BulkWriteResult.unacknowledged(), List.of(error), null, new ServerAddress(), Set.of())))
+                .thenReturn(null);
+        BookingRollups rollups = new BookingRollups(mongoTemplate, mock(HotelCache.class), new SimpleMeterRegistry(),
+                true, false, 1000, 1, Duration.ofMinutes(5));
+
+        // One night without staff or lead time: a hotel and a night upsert
+        rollups.onBookingCreated(new BookingCreatedEvent(Booking.builder()
+                .id("booking-1")
+                .hotelId("HOTEL_001")
+                .startDate(FEB_10)
+                .endDate(FEB_10.plusDays(1))
+                .build()));
+        rollups.flush();
+        assertThat(written).hasSize(2);
+        Object failed = written.get(1);
+
+        written.clear();
+        rollups.flush();
+        assertThat(written).containsExactly(failed);
+    }
+
+    private static Booking booking(String staffId, LocalDate startDate, int nights, String createdAt) {
+        return Booking.builder()
+                .id(staffId + startDate)
+                .hotelId("HOTEL_001")
+                .createdBy(staffId)
+                .startDate(startDate)
+                .endDate(startDate.plusDays(nights))
+                .createdAt(Instant.parse(createdAt))
+                .build();
+    }
+}
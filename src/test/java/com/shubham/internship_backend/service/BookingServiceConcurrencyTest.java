@@ -0,0 +1,143 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.dto.BookingRequest;
+import com.shubham.internship_backend.exception.ConflictException;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.Hotel;
+import com.shubham.internship_backend.observability.BookingMetrics;
+import com.shubham.internship_backend.observability.SampledEventLog;
+import com.shubham.internship_backend.repository.BookingRepository;
+import com.shubham.internship_backend.repository.HotelRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingServiceConcurrencyTest {
+
+    private static final String HOTEL_ID = "HOTEL_001";
+    private static final int THREADS = 32;
+
+    private final AtomicInteger saves = new AtomicInteger();
+
+    private BookingService bookingService;
+
+    @BeforeEach
+    void setUp() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        HotelRepository hotelRepository = mock(HotelRepository.class);
+        when(hotelRepository.findById(anyString())).thenAnswer(invocation -> Optional.of(
+                Hotel.builder().id(invocation.getArgument(0)).status("ACTIVE").build()));
+        when(bookingRepository.findByHotelIdOrderByStartDateAsc(anyString())).thenReturn(List.of());
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            // Widen the window between the overlap check and the write
+            Thread.sleep(2);
+            saves.incrementAndGet();
+            return invocation.getArgument(0);
+        });
+
+        BookingCalendarIndex calendarIndex = new BookingCalendarIndex(bookingRepository, mock(MongoTemplate.class));
+        bookingService = new BookingService(
+                bookingRepository,
+                new HotelCache(hotelRepository, new SimpleMeterRegistry(), 100, Duration.ofHours(1),
+                        Duration.ofSeconds(30)),
+                mock(EmailService.class),
+                calendarIndex,
+                new HotelLockStripes(16),
+                mock(BookingNightGuard.class),
+                new BookingMetrics(new SimpleMeterRegistry()),
+                new SampledEventLog(0),
+                event -> {
+                },
+                mock(BookingWriteBehind.class),
+                mock(BookingArchiver.class),
+                new RoomInventory(calendarIndex));
+    }
+
+    @Test
+    void onlyOneOverlappingBookingWinsUnderContention() throws Exception {
+        LocalDate start = LocalDate.of(2025, 2, 10);
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            // Every request overlaps every other one on 2025-02-12
+            LocalDate from = start.plusDays(i % 3);
+            attempts.add(() -> book(from, from.plusDays(3)));
+        }
+
+        List<Boolean> results = runConcurrently(attempts);
+
+        assertThat(results).filteredOn(Boolean::booleanValue).hasSize(1);
+        assertThat(saves).hasValue(1);
+    }
+
+    @Test
+    void backToBackStaysAreAllAdmittedUnderContention() throws Exception {
+        LocalDate start = LocalDate.of(2025, 2, 10);
+        List<Callable<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            LocalDate from = start.plusDays(i);
+            attempts.add(() -> book(from, from.plusDays(1)));
+        }
+
+        List<Boolean> results = runConcurrently(attempts);
+
+        assertThat(results).containsOnly(true);
+        assertThat(saves).hasValue(THREADS);
+    }
+
+    private boolean book(LocalDate startDate, LocalDate endDate) {
+        BookingRequest request = new BookingRequest();
+        request.setGuestName("Rahul Sharma");
+        request.setGuestEmail("rahul@gmail.com");
+        request.setStartDate(startDate);
+        request.setEndDate(endDate);
+        try {
+            bookingService.createBooking(HOTEL_ID, "user-uuid-1234", request);
+            return true;
+        } catch (ConflictException e) {
+            return false;
+        }
+    }
+
+    private List<Boolean> runConcurrently(List<Callable<Boolean>> attempts) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(attempts.size());
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> futures = new ArrayList<>();
+            for (Callable<Boolean> attempt : attempts) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    return attempt.call();
+                }));
+            }
+            startGate.countDown();
+
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.dto.BookingPage;
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.Hotel;
+import com.shubham.internship_backend.observability.BookingMetrics;
+import com.shubham.internship_backend.observability.SampledEventLog;
+import com.shubham.internship_backend.repository.BookingRepository;
+import com.shubham.internship_backend.repository.HotelRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingServicePagingTest {
+
+    private static final String HOTEL_ID = "HOTEL_001";
+
+    @Test
+    void pageWithoutFromIncludesArchivedBookings() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        HotelRepository hotelRepository = mock(HotelRepository.class);
+        when(hotelRepository.findById(HOTEL_ID)).thenReturn(Optional.of(
+                Hotel.builder().id(HOTEL_ID).status("ACTIVE").build()));
+        Booking archived = booking("archived", LocalDate.of(2020, 1, 10));
+        Booking live = booking("live", LocalDate.now().plusDays(3));
+        when(bookingRepository.findPage(eq(HOTEL_ID), isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(live));
+        when(bookingRepository.findArchivedPage(eq(HOTEL_ID), isNull(), isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(archived));
+
+        BookingCalendarIndex calendarIndex = new BookingCalendarIndex(bookingRepository, mock(MongoTemplate.class));
+        RoomInventory roomInventory = new RoomInventory(calendarIndex);
+        BookingArchiver archiver = new BookingArchiver(mock(MongoTemplate.class), calendarIndex, roomInventory,
+                new SimpleMeterRegistry(), event -> {
+                }, mock(BookingRollups.class), true, Period.ofDays(90), 500, Duration.ZERO, 1);
+        BookingService bookingService = new BookingService(
+                bookingRepository,
+                new HotelCache(hotelRepository, new SimpleMeterRegistry(), 100, Duration.ofHours(1),
+                        Duration.ofSeconds(30)),
+                mock(EmailService.class),
+                calendarIndex,
+                new HotelLockStripes(16),
+                mock(BookingNightGuard.class),
+                new BookingMetrics(new SimpleMeterRegistry()),
+                new SampledEventLog(0),
+                event -> {
+                },
+                mock(BookingWriteBehind.class),
+                archiver,
+                roomInventory);
+
+        BookingPage<Booking> page = bookingService.getBookingPage(HOTEL_ID, null, null, null, 10);
+
+        assertThat(page.getItems()).extracting(Booking::getId).containsExactly("archived", "live");
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private static Booking booking(String id, LocalDate startDate) {
+        return Booking.builder()
+                .id(id)
+                .hotelId(HOTEL_ID)
+                .startDate(startDate)
+                .endDate(startDate.plusDays(2))
+                .build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.shubham.internship_backend.service;
+
+import com.mongodb.WriteConcern;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.InsertManyOptions;
+import com.shubham.internship_backend.exception.ServiceUnavailableException;
+import com.shubham.internship_backend.model.Booking;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingWriteBehindTest {
+
+    private final Set<String> inserted = ConcurrentHashMap.newKeySet();
+    private final CountDownLatch flushStarted = new CountDownLatch(1);
+
+    private MongoTemplate mongoTemplate;
+    private MongoCollection<Document> collection;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mongoTemplate = mock(MongoTemplate.class);
+        collection = mock(MongoCollection.class);
+        MappingMongoConverter converter = new MappingMongoConverter(NoOpDbRefResolver.INSTANCE,
+                new MongoMappingContext());
+        converter.afterPropertiesSet();
+        when(mongoTemplate.getConverter()).thenReturn(converter);
+        when(mongoTemplate.getCollectionName(Booking.class)).thenReturn("bookings");
+        when(mongoTemplate.getCollection("bookings")).thenReturn(collection);
+        when(collection.withWriteConcern(any(WriteConcern.class))).thenReturn(collection);
+        insertWithDelay(Duration.ofMillis(2));
+    }
+
+    @Test
+    void everyAcceptedBookingIsWrittenBeforeShutdownReturns() throws Exception {
+        BookingWriteBehind writeBehind = writeBehind(10_000);
+        writeBehind.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<CompletableFuture<Booking>> results = new ArrayList<>();
+        List<CompletableFuture<CompletableFuture<Booking>>> submissions = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            submissions.add(CompletableFuture.supplyAsync(() -> writeBehind.submit(booking(), 1), executor));
+        }
+        for (CompletableFuture<CompletableFuture<Booking>> submission : submissions) {
+            results.add(submission.get(10, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        writeBehind.shutdown();
+
+        assertThat(inserted).hasSize(2_000);
+        assertThat(results).allMatch(result -> result.isDone() && !result.isCompletedExceptionally());
+        assertThat(results.stream().map(result -> result.join().getId()).toList())
+                .containsExactlyInAnyOrderElementsOf(inserted);
+        assertThatThrownBy(() -> writeBehind.submit(booking(), 1)).isInstanceOf(ServiceUnavailableException.class);
+    }
+
+    @Test
+    void refusesBookingsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            flushStarted.countDown();
+            release.await();
+            List<Document> documents = invocation.getArgument(0);
+            documents.forEach(document -> inserted.add(document.get("_id").toString()));
+            return null;
+        }).when(collection).insertMany(anyList(), any(InsertManyOptions.class));
+
+        BookingWriteBehind writeBehind = writeBehind(1);
+        writeBehind.start();
+
+        CompletableFuture<Booking> first = writeBehind.submit(booking(), 1);
+        assertThat(flushStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Booking> second = writeBehind.submit(booking(), 1);
+        assertThatThrownBy(() -> writeBehind.submit(booking(), 1)).isInstanceOf(ServiceUnavailableException.class);
+
+        release.countDown();
+        writeBehind.shutdown();
+
+        assertThat(first).isCompleted();
+        assertThat(second).isCompleted();
+        assertThat(inserted).hasSize(2);
+    }
+
+    private BookingWriteBehind writeBehind(int queueCapacity) {
+        return new BookingWriteBehind(mongoTemplate, mock(BookingNightGuard.class), mock(BookingCalendarIndex.class),
+                new SimpleMeterRegistry(), true, queueCapacity, 100, Duration.ofMillis(5), "MAJORITY");
+    }
+
+    private void insertWithDelay(Duration delay) {
+        doAnswer(invocation -> {
+            flushStarted.countDown();
+            Thread.sleep(delay.toMillis());
+            List<Document> documents = invocation.getArgument(0);
+            documents.forEach(document -> inserted.add(document.get("_id").toString()));
+            return null;
+        }).when(collection).insertMany(anyList(), any(InsertManyOptions.class));
+    }
+
+    private static Booking booking() {
+        LocalDate start = LocalDate.of(2025, 2, 10);
+        return Booking.builder()
+                .id(new ObjectId().toHexString())
+                .hotelId("HOTEL_001")
+                .createdBy("user-uuid-1234")
+                .guestName("Rahul Sharma")
+                .guestEmail("rahul@gmail.com")
+                .startDate(start)
+                .endDate(start.plusDays(1))
+                .createdAt(Instant.now())
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.model.EmailOutboxMessage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxDispatcherTest {
+
+    @Test
+    void failedClaimDoesNotRetireTheWorker() throws Exception {
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        EmailOutboxSender sender = mock(EmailOutboxSender.class);
+        EmailOutboxMessage message = EmailOutboxMessage.builder()
+                .id("message-1")
+                .status(EmailOutboxMessage.Status.SENDING)
+                .createdAt(Instant.now())
+                .build();
+        when(mongoTemplate.find(any(Query.class), eq(EmailOutboxMessage.class)))
+                .thenThrow(new DataAccessResourceFailureException("Mongo is down"))
+                .thenReturn(List.of(message));
+        when(mongoTemplate.bulkOps(any(BulkOperations.BulkMode.class), eq(EmailOutboxMessage.class)))
+                .thenReturn(mock(BulkOperations.class));
+        EmailOutboxDispatcher dispatcher = new EmailOutboxDispatcher(mongoTemplate, sender, new SimpleMeterRegistry(),
+                new StandardEnvironment(), 1, 20, 8, Duration.ofSeconds(5), Duration.ofMinutes(30),
+                Duration.ofMinutes(2), Duration.ofMinutes(5));
+
+        try {
+            assertThatThrownBy(dispatcher::poll).isInstanceOf(DataAccessResourceFailureException.class);
+            dispatcher.poll();
+
+            verify(sender, timeout(5000)).send(anyList());
+        } finally {
+            dispatcher.shutdown();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.shubham.internship_backend.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.shubham.internship_backend.model.EmailOutboxMessage;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EmailOutboxSenderTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Test
+    void deliversWholeBatch() {
+        EmailOutboxSender sender = new EmailOutboxSender(mailSender(ServerSetupTest.SMTP.getPort()));
+
+        Map<String, String> failures = sender.send(List.of(message("1"), message("2"), message("3")));
+
+        assertThat(failures).isEmpty();
+        assertThat(Arrays.stream(greenMail.getReceivedMessages()).map(this::subject))
+                .containsExactlyInAnyOrder("Booking 1", "Booking 2", "Booking 3");
+    }
+
+    @Test
+    void reportsEveryMessageWhenServerIsUnreachable() {
+        EmailOutboxSender sender = new EmailOutboxSender(mailSender(1));
+
+        Map<String, String> failures = sender.send(List.of(message("1"), message("2")));
+
+        assertThat(failures).containsOnlyKeys("1", "2");
+        assertThat(greenMail.getReceivedMessages()).isEmpty();
+    }
+
+    private JavaMailSenderImpl mailSender(int port) {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(port);
+        return mailSender;
+    }
+
+    private EmailOutboxMessage message(String id) {
+        return EmailOutboxMessage.builder()
+                .id(id)
+                .recipient("support@example.com")
+                .subject("Booking " + id)
+                .body("New booking created.")
+                .status(EmailOutboxMessage.Status.SENDING)
+                .build();
+    }
+
+    private String subject(MimeMessage message) {
+        try {
+            return message.getSubject();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.shubham.internship_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotelImportServiceTest {
+
+    @Test
+    void parsesQuotedCsvFields() {
+        assertThat(HotelImportService.parseCsvLine("H1,\"Taj, \"\"Palace\"\"\",Mumbai,"))
+                .containsExactly("H1", "Taj, \"Palace\"", "Mumbai", "");
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() {
+        assertThatThrownBy(() -> HotelImportService.parseCsvLine("H1,\"Taj Palace,Mumbai"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,51 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.service.HotelPartitioner.Ring;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotelPartitionerTest {
+
+    private static final List<String> TWO = List.of("http://a:8080", "http://b:8080");
+    private static final List<String> THREE = List.of("http://a:8080", "http://b:8080", "http://c:8080");
+
+    @Test
+    void ownerDoesNotDependOnMemberOrder() {
+        Ring ring = Ring.of(1, TWO, 128, null);
+        Ring reordered = Ring.of(1, List.of("http://b:8080/", "http://a:8080"), 128, null);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(reordered.ownerOf(hotel(i))).isEqualTo(ring.ownerOf(hotel(i)));
+        }
+    }
+
+    @Test
+    void addedMemberOnlyTakesHotelsOverFromOthers() {
+        Ring two = Ring.of(1, TWO, 128, null);
+        Ring three = Ring.of(2, THREE, 128, two);
+
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < 10_000; i++) {
+            String before = two.ownerOf(hotel(i));
+            String after = three.ownerOf(hotel(i));
+            assertThat(after).isIn(before, "http://c:8080");
+            owned.merge(after, 1, Integer::sum);
+        }
+        // Roughly a third each
+        assertThat(owned.values()).allSatisfy(count -> assertThat(count).isBetween(2_500, 4_200));
+    }
+
+    @Test
+    void emptyRingHasNoOwner() {
+        assertThat(Ring.of(0, List.of(), 128, null).ownerOf("HOTEL_001")).isNull();
+    }
+
+    private static String hotel(int i) {
+        return String.format("HOTEL_%05d", i);
+    }
+}
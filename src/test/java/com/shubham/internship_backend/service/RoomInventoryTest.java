@@ -0,0 +1,96 @@
+package com.shubham.internship_backend.service;
+
+import com.shubham.internship_backend.model.Booking;
+import com.shubham.internship_backend.model.Hotel;
+import com.shubham.internship_backend.repository.BookingRepository;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RoomInventoryTest {
+
+    private static final LocalDate FEB_10 = LocalDate.of(2025, 2, 10);
+
+    private final Hotel hotel = Hotel.builder()
+            .id("HOTEL_001")
+            .status("ACTIVE")
+            .roomTypes(Map.of("DELUXE", 2))
+            .build();
+
+    private RoomInventory inventory;
+
+    @BeforeEach
+    void setUp() {
+        BookingRepository bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findByHotelIdOrderByStartDateAsc(anyString())).thenReturn(List.of());
+        inventory = new RoomInventory(new BookingCalendarIndex(bookingRepository, mock(MongoTemplate.class)));
+    }
+
+    @Test
+    void admitsOverlappingStaysUpToCapacity() {
+        assertThat(inventory.tryReserve(booking(FEB_10, FEB_10.plusDays(5)), 2)).isTrue();
+        assertThat(inventory.tryReserve(booking(FEB_10.plusDays(2), FEB_10.plusDays(8)), 2)).isTrue();
+
+        // 12th to 15th is full, the 15th onwards still has a room
+        assertThat(inventory.tryReserve(booking(FEB_10.plusDays(4), FEB_10.plusDays(6)), 2)).isFalse();
+        assertThat(inventory.tryReserve(booking(FEB_10.plusDays(5), FEB_10.plusDays(6)), 2)).isTrue();
+        assertThat(inventory.hasRoom(hotel, FEB_10, FEB_10.plusDays(2))).isTrue();
+        assertThat(inventory.hasRoom(hotel, FEB_10.plusDays(1), FEB_10.plusDays(3))).isFalse();
+    }
+
+    @Test
+    void rejectedStayTakesNoNightAndReleaseFreesTheRoom() {
+        Booking first = booking(FEB_10, FEB_10.plusDays(1));
+        assertThat(inventory.tryReserve(first, 1)).isTrue();
+        assertThat(inventory.tryReserve(booking(FEB_10.minusDays(3), FEB_10.plusDays(1)), 1)).isFalse();
+        assertThat(inventory.tryReserve(booking(FEB_10.minusDays(3), FEB_10), 1)).isTrue();
+
+        inventory.release(first);
+        assertThat(inventory.tryReserve(booking(FEB_10, FEB_10.plusDays(3)), 1)).isTrue();
+    }
+
+    @Test
+    void matchesNightByNightCountsAcrossManyNodes() {
+        // Spread over ~3 years so the tree grows well past its initial 64 nodes
+        Random random = new Random(42);
+        int[] taken = new int[1100];
+        for (int i = 0; i < 2000; i++) {
+            int from = random.nextInt(1090);
+            int to = from + 1 + random.nextInt(10);
+            boolean fits = true;
+            for (int night = from; night < to; night++) {
+                fits &= taken[night] < 2;
+            }
+
+            assertThat(inventory.tryReserve(booking(FEB_10.plusDays(from), FEB_10.plusDays(to)), 2))
+                    .as("stay %d to %d", from, to)
+                    .isEqualTo(fits);
+            if (fits) {
+                for (int night = from; night < to; night++) {
+                    taken[night]++;
+                }
+            }
+        }
+    }
+
+    private static Booking booking(LocalDate startDate, LocalDate endDate) {
+        return Booking.builder()
+                .id(new ObjectId().toHexString())
+                .hotelId("HOTEL_001")
+                .roomType("DELUXE")
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+    }
+}